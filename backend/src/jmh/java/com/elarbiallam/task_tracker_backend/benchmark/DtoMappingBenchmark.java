@@ -0,0 +1,117 @@
+package com.elarbiallam.task_tracker_backend.benchmark;
+
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.entity.Project;
+import com.elarbiallam.task_tracker_backend.entity.Task;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.repository.UserRepository;
+import com.elarbiallam.task_tracker_backend.service.impl.ProjectServiceImpl;
+import com.elarbiallam.task_tracker_backend.service.impl.TaskServiceImpl;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Conversion entité -> DTO des services, repositories remplacés par des stubs Mockito (stubOnly,
+ * sans enregistrement des invocations). taskCount = taille de la page de tâches, et nombre de tâches
+ * du projet pour la variante "legacy" qui parcourait project.getTasks().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final Long PROJECT_ID = 10L;
+
+    @Param({"10", "500", "10000"})
+    public int taskCount;
+
+    private TaskServiceImpl taskService;
+    private ProjectServiceImpl projectService;
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        project = Project.builder()
+                .id(PROJECT_ID)
+                .title("Benchmark project")
+                .description("Projet de référence")
+                .build();
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description de la tâche " + i)
+                    .dueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365))
+                    .status(statuses[i % statuses.length])
+                    .project(project)
+                    .build());
+        }
+        project.setTasks(tasks);
+        project.setTotalTasks(taskCount);
+        project.setCompletedTasks((int) tasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count());
+
+        TaskRepository taskRepository = mock(TaskRepository.class, withSettings().stubOnly());
+        ProjectRepository projectRepository = mock(ProjectRepository.class, withSettings().stubOnly());
+        Page<Task> page = new PageImpl<>(tasks, PageRequest.of(0, taskCount), taskCount);
+        when(taskRepository.findByProjectId(anyLong(), any(Pageable.class))).thenReturn(page);
+        when(projectRepository.existsByIdAndUserId(anyLong(), anyLong())).thenReturn(true);
+        when(projectRepository.findByIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(project));
+
+        taskService = new TaskServiceImpl(
+                taskRepository,
+                projectRepository,
+                mock(Validator.class, withSettings().stubOnly()),
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+        projectService = new ProjectServiceImpl(
+                projectRepository,
+                mock(UserRepository.class, withSettings().stubOnly()),
+                taskRepository,
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+    }
+
+    @Benchmark
+    public Page<TaskDTO> taskPage() {
+        return taskService.getTasksByProjectId(PROJECT_ID, null, 0, taskCount, USER_ID, "false");
+    }
+
+    @Benchmark
+    public ProjectDTO project() {
+        return projectService.getProjectById(PROJECT_ID, USER_ID);
+    }
+
+    // Ancien ProjectServiceImpl.mapToDTO : parcours complet de la collection des tâches
+    @Benchmark
+    public ProjectDTO projectLegacy() {
+        List<Task> tasks = project.getTasks();
+        int totalTasks = tasks.size();
+        int completedTasks = (int) tasks.stream()
+                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
+                .count();
+        return new ProjectDTO(project.getId(), project.getTitle(), project.getDescription(),
+                project.getCreatedAt(), project.getVersion(), totalTasks, completedTasks);
+    }
+}
@@ -0,0 +1,85 @@
+package com.elarbiallam.task_tracker_backend.benchmark;
+
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.elarbiallam.task_tracker_backend.security.JwtAuthenticationFilter;
+import com.elarbiallam.task_tracker_backend.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du filtre JWT par requête authentifiée.
+ * "legacy" reproduit l'ancien chemin (3 parsings + 3 constructions de clé),
+ * "filter" exécute le JwtAuthenticationFilter actuel (mode stateless : principal issu des claims).
+ * Pour "legacy", la base de données est remplacée par un UserDetailsService en mémoire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String EMAIL = "bench@example.com";
+
+    private JwtAuthenticationFilter filter;
+    private UserDetailsService userDetailsService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 86_400_000L, true);
+        AuthenticatedUser user = new AuthenticatedUser(1L, EMAIL, "{noop}password", 0);
+        userDetailsService = username -> user;
+        filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService, new SimpleMeterRegistry());
+        token = jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object legacy() {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        String jwt = request.getHeader("Authorization").substring(7);
+        String userEmail = legacyParse(jwt).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        boolean valid = legacyParse(jwt).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(jwt).getExpiration().before(new Date());
+        if (valid) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // Ancienne implémentation de JwtUtils.extractAllClaims
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,53 @@
+package com.elarbiallam.task_tracker_backend.benchmark;
+
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.elarbiallam.task_tracker_backend.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût unitaire de JwtUtils : émission (login/register), vérification (chaque requête)
+ * et construction du principal depuis les claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtils jwtUtils;
+    private AuthenticatedUser user;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 86_400_000L, true);
+        user = new AuthenticatedUser(42L, "bench@example.com", null, 0);
+        token = jwtUtils.generateToken(user);
+        claims = jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtUtils.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser parseAndBuildPrincipal() {
+        return jwtUtils.toPrincipal(jwtUtils.parseToken(token));
+    }
+}
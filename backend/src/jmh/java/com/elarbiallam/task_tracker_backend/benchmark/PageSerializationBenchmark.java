@@ -0,0 +1,106 @@
+package com.elarbiallam.task_tracker_backend.benchmark;
+
+import com.elarbiallam.task_tracker_backend.dto.common.PageResponse;
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sérialisation Jackson des réponses de liste, telles que renvoyées par TaskController / ProjectController.
+ * L'ObjectMapper est construit comme celui de Spring MVC (modules java.time, dates ISO).
+ * legacy* : Page de Spring Data sérialisée directement, sans Blackbird (format d'avant PageResponse) ;
+ * compact* : PageResponse avec le module Blackbird de JacksonConfig. Tailles brutes / gzip affichées au setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "500"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper blackbirdMapper;
+    private Page<TaskDTO> taskPage;
+    private Page<ProjectDTO> projectPage;
+    private PageResponse<TaskDTO> compactTaskPage;
+    private PageResponse<ProjectDTO> compactProjectPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        blackbirdMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+        List<TaskDTO> tasks = new ArrayList<>(pageSize);
+        List<ProjectDTO> projects = new ArrayList<>(pageSize);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(TaskDTO.builder()
+                    .id((long) i)
+                    .title("Task " + i)
+                    .description("Description de la tâche " + i)
+                    .dueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365))
+                    .status(statuses[i % statuses.length])
+                    .projectId(1L)
+                    .build());
+            projects.add(new ProjectDTO((long) i, "Project " + i, "Description du projet " + i,
+                    LocalDateTime.of(2026, 1, 1, 12, 0), 3L, 100, i % 100));
+        }
+        taskPage = new PageImpl<>(tasks, PageRequest.of(0, pageSize, Sort.by("dueDate")), 50_000);
+        projectPage = new PageImpl<>(projects, PageRequest.of(0, pageSize, Sort.by("id").descending()), 50_000);
+        compactTaskPage = PageResponse.of(taskPage);
+        compactProjectPage = PageResponse.of(projectPage);
+
+        printSize("legacy tasks", objectMapper.writeValueAsBytes(taskPage));
+        printSize("compact tasks", blackbirdMapper.writeValueAsBytes(compactTaskPage));
+        printSize("legacy projects", objectMapper.writeValueAsBytes(projectPage));
+        printSize("compact projects", blackbirdMapper.writeValueAsBytes(compactProjectPage));
+    }
+
+    @Benchmark
+    public byte[] legacyTaskPage() throws Exception {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] legacyProjectPage() throws Exception {
+        return objectMapper.writeValueAsBytes(projectPage);
+    }
+
+    @Benchmark
+    public byte[] compactTaskPage() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(compactTaskPage);
+    }
+
+    @Benchmark
+    public byte[] compactProjectPage() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(compactProjectPage);
+    }
+
+    // Octets envoyés sans / avec la compression HTTP (server.compression)
+    private void printSize(String label, byte[] json) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(json);
+        }
+        System.out.printf("%n[pageSize=%d] %s : %d octets, %d octets gzip%n",
+                pageSize, label, json.length, gzipped.size());
+    }
+}
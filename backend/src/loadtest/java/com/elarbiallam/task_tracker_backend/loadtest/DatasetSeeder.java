@@ -0,0 +1,238 @@
+package com.elarbiallam.task_tracker_backend.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Jeu de données du test de charge, inséré directement en JDBC (batchs) plutôt que via l'API :
+ * des millions de tâches en quelques minutes.
+ * Les compteurs total_tasks / completed_tasks des projets sont calculés à l'insertion.
+ */
+final class DatasetSeeder {
+
+    static final String EMAIL_PREFIX = "loadtest-";
+
+    // Doit correspondre à allocationSize de la séquence tasks_seq (entité Task)
+    private static final int TASK_ID_ALLOCATION_SIZE = 50;
+    private static final int TASK_BATCH_SIZE = 1000;
+    private static final int SAMPLE_TASKS_PER_PROJECT = 20;
+
+    private final LoadTestConfig config;
+    private final Random random;
+
+    private long nextTaskId;
+    private long maxTaskId;
+
+    DatasetSeeder(LoadTestConfig config) {
+        this.config = config;
+        this.random = new Random(config.randomSeed);
+    }
+
+    record SeededProject(long id, long[] sampleTaskIds) {
+    }
+
+    record SeededUser(String email, List<SeededProject> projects) {
+    }
+
+    List<SeededUser> seed(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        // Un seul hash pour tous les utilisateurs : BCrypt coûterait plusieurs minutes sinon
+        String passwordHash = new BCryptPasswordEncoder().encode(config.password);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        List<SeededUser> users = new ArrayList<>(config.users);
+        long totalTasks = 0;
+        for (int i = 0; i < config.users; i++) {
+            String email = EMAIL_PREFIX + runId + "-" + i + "@example.com";
+            long userId = insertUser(connection, email, passwordHash);
+
+            byte[][] statuses = new byte[config.projectsPerUser][];
+            for (int p = 0; p < statuses.length; p++) {
+                statuses[p] = randomStatuses(taskCount());
+                totalTasks += statuses[p].length;
+            }
+            long[] projectIds = insertProjects(connection, userId, statuses);
+
+            List<SeededProject> projects = new ArrayList<>(projectIds.length);
+            for (int p = 0; p < projectIds.length; p++) {
+                projects.add(new SeededProject(projectIds[p], insertTasks(connection, projectIds[p], statuses[p])));
+            }
+            insertRollups(connection, userId);
+            connection.commit();
+            users.add(new SeededUser(email, projects));
+        }
+        System.out.printf("Seeded %d users, %d projects, %d tasks%n",
+                config.users, (long) config.users * config.projectsPerUser, totalTasks);
+        return users;
+    }
+
+    /**
+     * Recharge les utilisateurs d'un précédent seed (loadtest.seed=false).
+     */
+    List<SeededUser> load(Connection connection) throws SQLException {
+        Map<String, Map<Long, List<Long>>> byEmail = new LinkedHashMap<>();
+        String sql = """
+                SELECT u.email, p.id, t.id
+                FROM users u
+                JOIN projects p ON p.user_id = u.id
+                LEFT JOIN LATERAL (SELECT id FROM tasks WHERE project_id = p.id ORDER BY id LIMIT ?) t ON TRUE
+                WHERE u.email LIKE ?
+                ORDER BY u.email, p.id
+                """;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, SAMPLE_TASKS_PER_PROJECT);
+            statement.setString(2, EMAIL_PREFIX + "%");
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    List<Long> tasks = byEmail.computeIfAbsent(rs.getString(1), e -> new LinkedHashMap<>())
+                            .computeIfAbsent(rs.getLong(2), p -> new ArrayList<>());
+                    long taskId = rs.getLong(3);
+                    if (!rs.wasNull()) {
+                        tasks.add(taskId);
+                    }
+                }
+            }
+        }
+        List<SeededUser> users = new ArrayList<>(byEmail.size());
+        byEmail.forEach((email, projects) -> {
+            List<SeededProject> seeded = new ArrayList<>(projects.size());
+            projects.forEach((id, tasks) -> seeded.add(
+                    new SeededProject(id, tasks.stream().mapToLong(Long::longValue).toArray())));
+            users.add(new SeededUser(email, seeded));
+        });
+        System.out.printf("Loaded %d existing load test users%n", users.size());
+        return users;
+    }
+
+    private long insertUser(Connection connection, String email, String passwordHash) throws SQLException {
+        String sql = "INSERT INTO users (email, password, first_name, last_name) VALUES (?, ?, 'Load', 'Test')";
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            statement.setString(1, email);
+            statement.setString(2, passwordHash);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private long[] insertProjects(Connection connection, long userId, byte[][] statuses) throws SQLException {
+        String sql = """
+                INSERT INTO projects (title, description, created_at, user_id, total_tasks, completed_tasks)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """;
+        try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int p = 0; p < statuses.length; p++) {
+                statement.setString(1, "Projet " + p);
+                statement.setString(2, "Projet généré pour le test de charge");
+                statement.setTimestamp(3, Timestamp.valueOf(now.minusHours(statuses.length - p)));
+                statement.setLong(4, userId);
+                statement.setInt(5, statuses[p].length);
+                statement.setInt(6, completedCount(statuses[p]));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            long[] ids = new long[statuses.length];
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                for (int p = 0; p < ids.length && keys.next(); p++) {
+                    ids[p] = keys.getLong(1);
+                }
+            }
+            return ids;
+        }
+    }
+
+    // Agrégat du dashboard (task_rollups), tenu à jour par l'application pour les tâches qu'elle écrit
+    private void insertRollups(Connection connection, long userId) throws SQLException {
+        String sql = """
+                INSERT INTO task_rollups (project_id, status, due_date, task_count)
+                SELECT t.project_id, t.status, t.due_date, COUNT(*)
+                FROM tasks t JOIN projects p ON p.id = t.project_id
+                WHERE p.user_id = ?
+                GROUP BY t.project_id, t.status, t.due_date
+                """;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, userId);
+            statement.executeUpdate();
+        }
+    }
+
+    private long[] insertTasks(Connection connection, long projectId, byte[] statuses) throws SQLException {
+        String[] statusNames = config.statusMix.keySet().toArray(String[]::new);
+        long[] sample = new long[Math.min(SAMPLE_TASKS_PER_PROJECT, statuses.length)];
+        String sql = "INSERT INTO tasks (id, title, description, due_date, status, project_id) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            LocalDate today = LocalDate.now();
+            for (int t = 0; t < statuses.length; t++) {
+                long id = nextTaskId(connection);
+                if (t < sample.length) {
+                    sample[t] = id;
+                }
+                statement.setLong(1, id);
+                statement.setString(2, "Tâche " + t);
+                statement.setString(3, random.nextInt(4) == 0 ? null : "Description de la tâche " + t);
+                // ~10 % sans échéance, les autres entre -60 et +120 jours
+                statement.setObject(4, random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(180) - 60));
+                statement.setString(5, statusNames[statuses[t]]);
+                statement.setLong(6, projectId);
+                statement.addBatch();
+                if ((t + 1) % TASK_BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+        return sample;
+    }
+
+    // Même stratégie que l'optimiseur "pooled" d'Hibernate : nextval donne la borne haute d'un bloc de 50 ids
+    private long nextTaskId(Connection connection) throws SQLException {
+        if (nextTaskId == 0 || nextTaskId > maxTaskId) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT nextval('tasks_seq')")) {
+                rs.next();
+                maxTaskId = rs.getLong(1);
+                nextTaskId = maxTaskId - TASK_ID_ALLOCATION_SIZE + 1;
+            }
+        }
+        return nextTaskId++;
+    }
+
+    // Distribution à longue traîne : la plupart des projets sont petits, quelques-uns très gros
+    private int taskCount() {
+        double count = config.medianTasksPerProject * Math.exp(config.tasksPerProjectSigma * random.nextGaussian());
+        return (int) Math.min(config.maxTasksPerProject, Math.round(count));
+    }
+
+    private byte[] randomStatuses(int count) {
+        int[] weights = config.statusMix.values().stream().mapToInt(Integer::intValue).toArray();
+        int total = Arrays.stream(weights).sum();
+        byte[] statuses = new byte[count];
+        for (int t = 0; t < count; t++) {
+            int draw = random.nextInt(total);
+            byte status = 0;
+            while (draw >= weights[status]) {
+                draw -= weights[status++];
+            }
+            statuses[t] = status;
+        }
+        return statuses;
+    }
+
+    private int completedCount(byte[] statuses) {
+        int completedIndex = new ArrayList<>(config.statusMix.keySet()).indexOf("COMPLETED");
+        int completed = 0;
+        for (byte status : statuses) {
+            if (status == completedIndex) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+}
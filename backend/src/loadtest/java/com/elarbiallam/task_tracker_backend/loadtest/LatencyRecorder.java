@@ -0,0 +1,44 @@
+package com.elarbiallam.task_tracker_backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latences d'un endpoint (en nanosecondes), conservées intégralement pour des percentiles exacts.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long latencyNanos, boolean error) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, count / elapsedSeconds,
+                percentileMillis(sorted, 50), percentileMillis(sorted, 95),
+                percentileMillis(sorted, 99), count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+
+    // Percentile par rang le plus proche
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    record Summary(long requests, long errors, double throughput,
+                   double p50, double p95, double p99, double max) {
+    }
+}
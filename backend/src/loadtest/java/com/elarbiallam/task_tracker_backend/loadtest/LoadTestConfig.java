@@ -0,0 +1,52 @@
+package com.elarbiallam.task_tracker_backend.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres du test de charge, lus depuis les propriétés système (-Dloadtest.xxx=...).
+ */
+final class LoadTestConfig {
+
+    // URL d'un backend déjà démarré ; vide = l'application est démarrée dans ce process
+    final String baseUrl = System.getProperty("loadtest.base-url", "");
+
+    // Base utilisée pour le jeu de données ; vide = celle de l'application démarrée dans ce process
+    final String dbUrl = System.getProperty("loadtest.db.url", "");
+    final String dbUser = System.getProperty("loadtest.db.user", System.getenv().getOrDefault("DB_USER", "postgres"));
+    final String dbPassword = System.getProperty("loadtest.db.password", System.getenv().getOrDefault("DB_PASSWORD", "root"));
+
+    // false : réutilise les utilisateurs "loadtest-*" déjà présents en base
+    final boolean seed = Boolean.parseBoolean(System.getProperty("loadtest.seed", "true"));
+
+    final int users = Integer.getInteger("loadtest.users", 200);
+    final int projectsPerUser = Integer.getInteger("loadtest.projects-per-user", 10);
+    // Nombre de tâches par projet : loi log-normale (médiane, dispersion) bornée par max
+    final int medianTasksPerProject = Integer.getInteger("loadtest.tasks-per-project.median", 50);
+    final double tasksPerProjectSigma = Double.parseDouble(System.getProperty("loadtest.tasks-per-project.sigma", "1.2"));
+    final int maxTasksPerProject = Integer.getInteger("loadtest.tasks-per-project.max", 50_000);
+    final Map<String, Integer> statusMix = parseWeights(
+            System.getProperty("loadtest.status-mix", "PENDING=50,IN_PROGRESS=20,COMPLETED=30"));
+
+    final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 15);
+    final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    final Map<String, Integer> mix = parseWeights(System.getProperty("loadtest.mix",
+            "listProjects=25,getProject=10,listTasks=35,createTask=8,updateTask=12,profile=8,login=2"));
+
+    // Joue le scénario en threads de plateforme puis en virtual threads (application démarrée dans ce process)
+    final boolean compareThreading = Boolean.parseBoolean(System.getProperty("loadtest.compare-threading", "false"));
+
+    final String password = System.getProperty("loadtest.password", "loadtest-password");
+    final long randomSeed = Long.getLong("loadtest.random-seed", 42L);
+    final String reportFile = System.getProperty("loadtest.report", "target/loadtest-report.csv");
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,337 @@
+package com.elarbiallam.task_tracker_backend.loadtest;
+
+import com.elarbiallam.task_tracker_backend.TaskTrackerBackendApplication;
+import com.elarbiallam.task_tracker_backend.loadtest.DatasetSeeder.SeededProject;
+import com.elarbiallam.task_tracker_backend.loadtest.DatasetSeeder.SeededUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Test de charge de bout en bout : jeu de données réaliste, mélange pondéré d'appels API
+ * exécutés par N clients concurrents, latences p50/p95/p99 et débit par endpoint.
+ *
+ * Lancement : mvn -B -Ploadtest -DskipTests verify -Dloadtest.args="-Dloadtest.users=500 -Dloadtest.concurrency=64"
+ * (voir LoadTestConfig pour les autres paramètres). Le rapport est aussi écrit en CSV (loadtest.report)
+ * pour comparer deux exécutions avant / après une optimisation.
+ * Avec -Dloadtest.compare-threading=true (JDK 21+), le scénario est joué deux fois, threads de plateforme
+ * puis virtual threads, et les débits / p99 des deux modes sont affichés côte à côte.
+ */
+public final class LoadTestRunner {
+
+    private static final String[] TASK_STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final List<SeededUser> users;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentSkipListMap<>();
+    // Toutes requêtes confondues
+    private final LatencyRecorder total = new LatencyRecorder();
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+
+    // Les requêtes antérieures (warm-up : JIT, caches, pool de connexions) ne sont pas mesurées
+    private long measureStart;
+
+    private LoadTestRunner(LoadTestConfig config, String baseUrl, List<SeededUser> users) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.operations = config.mix.keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += config.mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        if (config.compareThreading) {
+            compareThreading(config, args);
+            return;
+        }
+
+        ConfigurableApplicationContext context = config.baseUrl.isBlank() ? startApplication(args) : null;
+        try {
+            String baseUrl = context != null ? localUrl(context) : config.baseUrl;
+            List<SeededUser> users = prepareDataset(config, context, config.seed);
+            new LoadTestRunner(config, baseUrl, users).run(Path.of(config.reportFile));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Même scénario et même jeu de données, exécutés successivement sur le pool de threads Tomcat
+     * puis sur des virtual threads (spring.threads.virtual.enabled, JDK 21+).
+     */
+    private static void compareThreading(LoadTestConfig config, String[] args) throws Exception {
+        if (!config.baseUrl.isBlank()) {
+            throw new IllegalStateException("loadtest.compare-threading starts the backend itself: remove loadtest.base-url");
+        }
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require JDK 21+, running on " + Runtime.version());
+        }
+
+        Map<String, Map<String, LatencyRecorder.Summary>> results = new LinkedHashMap<>();
+        boolean seed = config.seed;
+        for (String mode : List.of("platform", "virtual")) {
+            ConfigurableApplicationContext context = startApplication(args,
+                    "spring.threads.virtual.enabled=" + mode.equals("virtual"));
+            try {
+                List<SeededUser> users = prepareDataset(config, context, seed);
+                seed = false; // le second run réutilise les données du premier
+                System.out.printf("%n=== %s threads ===%n", mode);
+                results.put(mode, new LoadTestRunner(config, localUrl(context), users)
+                        .run(withSuffix(Path.of(config.reportFile), mode)));
+            } finally {
+                context.close();
+            }
+        }
+
+        System.out.printf("%n%-32s %12s %12s %12s %12s%n",
+                "endpoint", "req/s plat.", "req/s virt.", "p99 plat.", "p99 virt.");
+        Map<String, LatencyRecorder.Summary> platform = results.get("platform");
+        Map<String, LatencyRecorder.Summary> virtual = results.get("virtual");
+        for (String endpoint : platform.keySet()) {
+            LatencyRecorder.Summary p = platform.get(endpoint);
+            LatencyRecorder.Summary v = virtual.get(endpoint);
+            if (v != null) {
+                System.out.printf(Locale.ROOT, "%-32s %12.1f %12.1f %12.2f %12.2f%n",
+                        endpoint, p.throughput(), v.throughput(), p.p99(), v.p99());
+            }
+        }
+    }
+
+    // Application démarrée dans ce process, sur un port libre, sans logs SQL ni limitation de débit
+    // (tous les utilisateurs simulés partagent une IP et dépassent volontairement les quotas par client)
+    private static ConfigurableApplicationContext startApplication(String[] args, String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(
+                "server.port=0", "spring.jpa.show-sql=false", "application.rate-limit.enabled=false"));
+        allProperties.addAll(List.of(properties));
+        return new SpringApplicationBuilder(TaskTrackerBackendApplication.class)
+                .properties(allProperties.toArray(String[]::new))
+                .run(args);
+    }
+
+    private static String localUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private static List<SeededUser> prepareDataset(LoadTestConfig config, ConfigurableApplicationContext context,
+                                                   boolean seed) throws Exception {
+        String dbUrl = config.dbUrl;
+        String dbUser = config.dbUser;
+        String dbPassword = config.dbPassword;
+        if (dbUrl.isBlank() && context != null) {
+            Environment env = context.getEnvironment();
+            dbUrl = env.getProperty("spring.datasource.url");
+            dbUser = env.getProperty("spring.datasource.username");
+            dbPassword = env.getProperty("spring.datasource.password");
+        }
+
+        Properties props = new Properties();
+        props.setProperty("user", dbUser);
+        props.setProperty("password", dbPassword);
+        props.setProperty("reWriteBatchedInserts", "true");
+        List<SeededUser> users;
+        try (Connection connection = DriverManager.getConnection(dbUrl, props)) {
+            DatasetSeeder seeder = new DatasetSeeder(config);
+            users = seed ? seeder.seed(connection) : seeder.load(connection);
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No load test users: run once with -Dloadtest.seed=true");
+        }
+        return users;
+    }
+
+    private static Path withSuffix(Path reportFile, String suffix) {
+        String name = reportFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String suffixed = dot < 0 ? name + "-" + suffix : name.substring(0, dot) + "-" + suffix + name.substring(dot);
+        return reportFile.resolveSibling(suffixed);
+    }
+
+    private Map<String, LatencyRecorder.Summary> run(Path reportFile) throws Exception {
+        System.out.printf("Running against %s: %d clients, %ds warm-up, %ds measured%n",
+                baseUrl, config.concurrency, config.warmupSeconds, config.durationSeconds);
+
+        long start = System.nanoTime();
+        measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+        for (int i = 0; i < config.concurrency; i++) {
+            long seed = config.randomSeed + i;
+            workers.submit(() -> worker(new Random(seed), end));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(config.warmupSeconds + config.durationSeconds + 60L, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        return report(reportFile, config.durationSeconds);
+    }
+
+    private void worker(Random random, long end) {
+        while (System.nanoTime() < end) {
+            SeededUser user = users.get(random.nextInt(users.size()));
+            try {
+                execute(pickOperation(random), user, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Erreur réseau : déjà comptée par call(), on continue
+            }
+        }
+    }
+
+    private void execute(String operation, SeededUser user, Random random) throws Exception {
+        SeededProject project = user.projects().get(random.nextInt(user.projects().size()));
+        switch (operation) {
+            case "listProjects" -> call("GET /api/projects", user,
+                    get("/api/projects?page=0&size=10"));
+            case "getProject" -> call("GET /api/projects/{id}", user,
+                    get("/api/projects/" + project.id()));
+            case "listTasks" -> call("GET /api/tasks/project/{id}", user,
+                    get("/api/tasks/project/" + project.id() + "?page=0&size=10"));
+            case "createTask" -> call("POST /api/tasks/project/{id}", user,
+                    send("POST", "/api/tasks/project/" + project.id(), Map.of(
+                            "title", "Tâche de charge " + random.nextInt(1_000_000),
+                            "status", "PENDING")));
+            case "updateTask" -> {
+                if (project.sampleTaskIds().length == 0) {
+                    return;
+                }
+                long taskId = project.sampleTaskIds()[random.nextInt(project.sampleTaskIds().length)];
+                call("PATCH /api/tasks/{id}", user, send("PATCH", "/api/tasks/" + taskId,
+                        Map.of("status", TASK_STATUSES[random.nextInt(TASK_STATUSES.length)])));
+            }
+            // Hors mix par défaut (ex. -Dloadtest.mix=...,search=10) : "tâche" correspond à toutes les tâches seedées
+            case "search" -> call("GET /api/search", user,
+                    get("/api/search?size=20&q=" + URLEncoder.encode("tâche " + random.nextInt(100), StandardCharsets.UTF_8)));
+            case "dashboard" -> call("GET /api/dashboard/summary", user, get("/api/dashboard/summary"));
+            case "profile" -> call("GET /api/users/me", user, get("/api/users/me"));
+            case "login" -> login(user);
+            default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + operation);
+        }
+    }
+
+    private String pickOperation(Random random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder send(String method, String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+    }
+
+    private void call(String endpoint, SeededUser user, HttpRequest.Builder request) throws Exception {
+        String token = tokens.get(user.email());
+        if (token == null) {
+            token = login(user);
+        }
+        timed(endpoint, request.header("Authorization", "Bearer " + token).build());
+    }
+
+    // Les tokens sont mis en cache par utilisateur, comme le ferait le frontend
+    private String login(SeededUser user) throws Exception {
+        HttpResponse<String> response = timed("POST /api/auth/login", send("POST", "/api/auth/login",
+                Map.of("email", user.email(), "password", config.password)).build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + user.email() + ": " + response.statusCode());
+        }
+        String token = objectMapper.readTree(response.body()).get("token").asText();
+        tokens.put(user.email(), token);
+        return token;
+    }
+
+    private HttpResponse<String> timed(String endpoint, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        boolean record = start >= measureStart;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (record) {
+                long elapsed = System.nanoTime() - start;
+                recorder(endpoint).record(elapsed, response.statusCode() >= 400);
+                total.record(elapsed, response.statusCode() >= 400);
+            }
+            return response;
+        } catch (IOException e) {
+            if (record) {
+                long elapsed = System.nanoTime() - start;
+                recorder(endpoint).record(elapsed, true);
+                total.record(elapsed, true);
+            }
+            throw e;
+        }
+    }
+
+    private LatencyRecorder recorder(String endpoint) {
+        return recorders.computeIfAbsent(endpoint, e -> new LatencyRecorder());
+    }
+
+    private Map<String, LatencyRecorder.Summary> report(Path reportFile, double elapsedSeconds) throws IOException {
+        Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        String header = String.format("%-32s %9s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        System.out.println(header);
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(reportFile))) {
+            csv.println("endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            Map<String, LatencyRecorder> rows = new LinkedHashMap<>(recorders);
+            rows.put("ALL", total);
+            for (Map.Entry<String, LatencyRecorder> entry : rows.entrySet()) {
+                LatencyRecorder.Summary s = entry.getValue().summarize(elapsedSeconds);
+                summaries.put(entry.getKey(), s);
+                System.out.printf(Locale.ROOT, "%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                        s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n", entry.getKey(),
+                        s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+            }
+        }
+        System.out.println("Report written to " + reportFile.toAbsolutePath());
+        return summaries;
+    }
+}
@@ -2,8 +2,10 @@ package com.elarbiallam.task_tracker_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TaskTrackerBackendApplication {
 
 	public static void main(String[] args) {
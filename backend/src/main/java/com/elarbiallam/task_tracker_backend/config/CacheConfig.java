@@ -0,0 +1,19 @@
+package com.elarbiallam.task_tracker_backend.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Active le cache Spring. Les caches sont déclarés et dimensionnés dans application.yaml
+ * (spring.cache.caffeine.spec) ; leurs compteurs hit/miss/eviction sont publiés par l'actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Clé : email -> AuthenticatedUser (login, mode JWT non stateless)
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+
+    // Clé : id -> UserDTO (profil)
+    public static final String USERS_BY_ID = "usersById";
+}
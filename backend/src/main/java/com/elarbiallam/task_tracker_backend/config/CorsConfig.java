@@ -29,6 +29,8 @@ public class CorsConfig {
                         .allowedOriginPatterns(origins)
                         .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        // ETag : requêtes If-Match ; Retry-After : réponses 429 / 503
+                        .exposedHeaders("ETag", "Retry-After")
                         .allowCredentials(true); // Autorise les cookies/headers d'auth
 
                 // Petit log utile pour le debug en dev
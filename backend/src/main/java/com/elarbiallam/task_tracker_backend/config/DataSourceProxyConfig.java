@@ -0,0 +1,36 @@
+package com.elarbiallam.task_tracker_backend.config;
+
+import com.elarbiallam.task_tracker_backend.metrics.SqlStatementMetrics;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Enveloppe le DataSource (Hikari) dans un proxy datasource-proxy pour mesurer chaque requête SQL.
+ * Le pool reste accessible via unwrap() : les métriques hikaricp.* sont toujours enregistrées.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    // static : un BeanPostProcessor doit être créé avant les autres beans de la configuration
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SqlStatementMetrics> sqlStatementMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(sqlStatementMetrics.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
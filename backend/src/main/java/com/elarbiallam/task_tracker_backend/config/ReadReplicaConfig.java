@@ -0,0 +1,122 @@
+package com.elarbiallam.task_tracker_backend.config;
+
+import com.elarbiallam.task_tracker_backend.datasource.ReadYourWritesFilter;
+import com.elarbiallam.task_tracker_backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Actif si application.datasource.replicas.urls est renseigné ; sinon le DataSource auto-configuré est utilisé.
+ * Les transactions @Transactional(readOnly = true) lisent sur les réplicas, les autres passent par le primaire.
+ * LazyConnectionDataSourceProxy n'ouvre la connexion qu'à la première requête SQL, une fois le flag
+ * read-only de la transaction posé : c'est lui qui choisit entre primaire et ReplicaRoutingDataSource.
+ * Flyway et la validation Hibernate (hors transaction read-only) s'exécutent donc sur le primaire.
+ */
+@Configuration
+@ConditionalOnExpression("!'${application.datasource.replicas.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource replicaRouting;
+
+    @Value("${application.datasource.replicas.urls}")
+    private String replicaUrls;
+
+    @Value("${application.datasource.replicas.username}")
+    private String replicaUsername;
+
+    @Value("${application.datasource.replicas.password}")
+    private String replicaPassword;
+
+    @Value("${application.datasource.replicas.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    // Court : un réplica injoignable ne doit pas bloquer longtemps la vérification de retard
+    @Value("${application.datasource.replicas.connection-timeout:2000}")
+    private long replicaConnectionTimeout;
+
+    @Value("${application.datasource.replicas.max-lag:5000}")
+    private long maxLagMillis;
+
+    @Value("${application.datasource.replicas.sticky-window:5000}")
+    private long stickyWindowMillis;
+
+    @Value("${application.datasource.replicas.max-sticky-clients:100000}")
+    private long maxStickyClients;
+
+    // Filtre servlet (enregistré par Spring Boot), après la chaîne Spring Security
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(Duration.ofMillis(stickyWindowMillis), maxStickyClients);
+    }
+
+    // Enveloppé ensuite par DataSourceProxyConfig comme le DataSource auto-configuré (métriques SQL)
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 ReadYourWritesFilter readYourWritesFilter,
+                                 MeterRegistry meterRegistry) {
+        // Primaire : mêmes propriétés spring.datasource.* / spring.datasource.hikari.* que sans réplica
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        pools.add(primary);
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(replicaConnectionTimeout);
+            replica.setReadOnly(true);
+            // Démarrage possible même si un réplica est indisponible : il est simplement hors rotation
+            replica.setInitializationFailTimeout(-1);
+            // Le primaire est instrumenté par Spring Boot (hikaricp.*) ; les réplicas, qui ne sont pas des beans, ici
+            replica.setMetricRegistry(meterRegistry);
+            pools.add(replica);
+            replicas.add(replica);
+        }
+
+        replicaRouting = new ReplicaRoutingDataSource(primary, replicas, readYourWritesFilter);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaRouting);
+        return dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${application.datasource.replicas.lag-check-interval:5000}")
+    public void checkReplicas() {
+        if (replicaRouting != null) {
+            replicaRouting.checkReplicas(maxLagMillis);
+        }
+    }
+
+    // Pools créés ici et non exposés comme beans : fermés avec le contexte
+    @PreDestroy
+    public void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
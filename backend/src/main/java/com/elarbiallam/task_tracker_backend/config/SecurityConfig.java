@@ -1,7 +1,14 @@
 package com.elarbiallam.task_tracker_backend.config;
 
+import com.elarbiallam.task_tracker_backend.security.BoundedPasswordEncoder;
 import com.elarbiallam.task_tracker_backend.security.JwtAuthenticationFilter;
+import com.elarbiallam.task_tracker_backend.security.RateLimitFilter;
+import com.elarbiallam.task_tracker_backend.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +20,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,7 +33,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
+    private final MeterRegistry meterRegistry;
+
+    // Facteur de coût BCrypt (2^strength itérations), 10 par défaut
+    @Value("${application.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${application.security.password.hashing.threads:2}")
+    private int hashingThreads;
+
+    @Value("${application.security.password.hashing.queue-capacity:32}")
+    private int hashingQueueCapacity;
+
+    @Value("${application.security.password.hashing.max-wait:2000}")
+    private long hashingMaxWait;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -34,13 +58,19 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Envois SSE après coup (dispatch ASYNC) : l'accès a déjà été vérifié à l'ouverture du flux
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Scrape Prometheus sans JWT : à restreindre au réseau interne (reverse proxy / firewall)
+                        .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Avant l'authentification : une rafale est rejetée (429) sans charger l'utilisateur
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -50,6 +80,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Hash de coût inférieur à bcrypt-strength : re-haché et enregistré au login réussi suivant
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -60,6 +92,10 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Instrumenté : couvre encode() à l'inscription et matches() au login (DaoAuthenticationProvider).
+        // Pool dédié et borné : un pic de logins ne monopolise pas les threads de requête
+        return new BoundedPasswordEncoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), meterRegistry),
+                hashingThreads, hashingQueueCapacity, hashingMaxWait, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.elarbiallam.task_tracker_backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Trace au démarrage le mode d'exécution des requêtes (threads de plateforme ou virtual threads).
+ * Sur un JDK < 21, Spring Boot ignore spring.threads.virtual.enabled sans rien signaler.
+ */
+@Slf4j
+@Configuration
+public class ThreadingModeConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreads && javaVersion < 21) {
+            log.warn("Virtual threads requested but running on Java {}: requests use the Tomcat thread pool", javaVersion);
+        } else {
+            log.info("Requests run on {} threads (Java {}), database pool size {}",
+                    virtualThreads ? "virtual" : "platform", javaVersion, poolSize);
+        }
+    }
+}
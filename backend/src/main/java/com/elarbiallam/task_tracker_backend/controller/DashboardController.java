@@ -0,0 +1,25 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.elarbiallam.task_tracker_backend.dto.dashboard.DashboardSummaryDTO;
+import com.elarbiallam.task_tracker_backend.metrics.SqlBudget;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.elarbiallam.task_tracker_backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    // GET /api/dashboard/summary : compteurs de toutes les tâches de l'utilisateur, tous projets confondus
+    @SqlBudget(1)
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDTO> getSummary(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(dashboardService.getSummary(currentUser.getId()));
+    }
+}
@@ -1,14 +1,19 @@
 package com.elarbiallam.task_tracker_backend.controller;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
+import com.elarbiallam.task_tracker_backend.dto.common.PageResponse;
 import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.metrics.SqlBudget;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
 import com.elarbiallam.task_tracker_backend.service.ProjectService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -17,46 +22,89 @@ public class ProjectController {
 
     private final ProjectService projectService;
 
+    @SqlBudget(1)
     @PostMapping
     public ResponseEntity<ProjectDTO> createProject(
             @Valid @RequestBody ProjectDTO projectDTO,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(projectService.createProject(projectDTO, userDetails.getUsername()));
+        return ResponseEntity.ok(projectService.createProject(projectDTO, currentUser.getId()));
     }
 
+    @SqlBudget(3)
     @GetMapping
-    public ResponseEntity<Page<ProjectDTO>> getUserProjects(
+    public ResponseEntity<PageResponse<ProjectDTO>> getUserProjects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @AuthenticationPrincipal UserDetails userDetails
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(projectService.getUserProjects(userDetails.getUsername(), page, size));
+        // If-None-Match : 304 sans charger ni sérialiser les projets
+        if (request.checkNotModified(projectService.getUserProjectsETag(currentUser.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .body(PageResponse.of(projectService.getUserProjects(currentUser.getId(), page, size)));
     }
 
+    // Mode curseur (keyset) : activé par le paramètre "cursor" (vide pour la première page), sans COUNT(*)
+    @SqlBudget(2)
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ProjectDTO>> getUserProjectsAfter(
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        if (request.checkNotModified(projectService.getUserProjectsETag(currentUser.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .body(projectService.getUserProjectsAfter(currentUser.getId(), cursor, size));
+    }
+
+    @SqlBudget(2)
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDTO> getProject(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(projectService.getProjectById(id, userDetails.getUsername()));
+        // ETag lu avant le projet : en cas d'écriture concurrente, le corps est au moins aussi récent que l'ETag
+        // (avec des réplicas, les deux lectures de la requête passent par la même base : voir ReadRouting)
+        if (request.checkNotModified(projectService.getProjectETag(id, currentUser.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .body(projectService.getProjectById(id, currentUser.getId()));
     }
 
+    @SqlBudget(3)
     @PutMapping("/{id}")
     public ResponseEntity<ProjectDTO> updateProject(
             @PathVariable Long id,
             @Valid @RequestBody ProjectDTO projectDTO,
-            @AuthenticationPrincipal UserDetails userDetails
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(projectService.updateProject(id, projectDTO, userDetails.getUsername()));
+        ProjectDTO project = projectService.updateProject(id, projectDTO, currentUser.getId(), ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ETags.project(project.getVersion(), project.getTotalTasks(), project.getCompletedTasks()))
+                .body(project);
     }
 
+    @SqlBudget(4)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProject(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        projectService.deleteProject(id, userDetails.getUsername());
-        return ResponseEntity.noContent().build();
+        boolean deleted = projectService.deleteProject(id, currentUser.getId(), ifMatch);
+        // 202 : projet volumineux, suppression terminée en arrière-plan
+        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.accepted().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.search.SearchResultDTO;
+import com.elarbiallam.task_tracker_backend.metrics.SqlBudget;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.elarbiallam.task_tracker_backend.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    // GET /api/search?q=... : syntaxe websearch ("phrase exacte", -exclu, or)
+    @SqlBudget(1)
+    @GetMapping
+    public ResponseEntity<CursorPage<SearchResultDTO>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(searchService.search(currentUser.getId(), query, cursor, size));
+    }
+}
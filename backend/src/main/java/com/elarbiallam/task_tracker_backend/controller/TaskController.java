@@ -1,15 +1,34 @@
 package com.elarbiallam.task_tracker_backend.controller;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
+import com.elarbiallam.task_tracker_backend.dto.common.PageResponse;
+import com.elarbiallam.task_tracker_backend.dto.task.BulkTaskResult;
 import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.dto.task.TaskImportResult;
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
 import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.metrics.SqlBudget;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.elarbiallam.task_tracker_backend.service.TaskEventService;
+import com.elarbiallam.task_tracker_backend.service.TaskExportService;
+import com.elarbiallam.task_tracker_backend.service.TaskImportService;
 import com.elarbiallam.task_tracker_backend.service.TaskService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -17,43 +36,157 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskEventService taskEventService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
+    @SqlBudget(5)
     @PostMapping("/project/{projectId}")
     public ResponseEntity<TaskDTO> createTask(
             @PathVariable Long projectId,
             @Valid @RequestBody TaskDTO taskDTO,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(taskService.createTask(projectId, taskDTO, userDetails.getUsername()));
+        return ResponseEntity.ok(taskService.createTask(projectId, taskDTO, currentUser.getId()));
     }
 
+    @SqlBudget(4)
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<Page<TaskDTO>> getTasksByProject(
+    public ResponseEntity<PageResponse<TaskDTO>> getTasksByProject(
             @PathVariable Long projectId,
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "false") String sortTitle,
-            @AuthenticationPrincipal UserDetails userDetails
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        // If-None-Match : 304 sans charger ni sérialiser les tâches (une requête sur le projet)
+        if (request.checkNotModified(taskService.getTasksETag(projectId, currentUser.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .body(PageResponse.of(taskService.getTasksByProjectId(projectId, status, page, size, currentUser.getId(), sortTitle)));
+    }
+
+    // Mode curseur (keyset) : activé par le paramètre "cursor" (vide pour la première page), sans COUNT(*)
+    @SqlBudget(3)
+    @GetMapping(value = "/project/{projectId}", params = "cursor")
+    public ResponseEntity<CursorPage<TaskDTO>> getTasksByProjectAfter(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") String sortTitle,
+            WebRequest request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(taskService.getTasksByProjectId(projectId, status, page, size, userDetails.getUsername(), sortTitle));
+        if (request.checkNotModified(taskService.getTasksETag(projectId, currentUser.getId()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(ETags.REVALIDATE)
+                .body(taskService.getTasksByProjectIdAfter(projectId, status, cursor, size, currentUser.getId(), sortTitle));
+    }
+
+    // Flux SSE : task-created / task-updated / task-deleted (données = liste de TaskDTO)
+    @SqlBudget(2)
+    @GetMapping(value = "/project/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTaskEvents(
+            @PathVariable Long projectId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // pas de mise en tampon côté nginx
+                .body(taskEventService.subscribe(projectId, currentUser.getId()));
+    }
+
+    // Export complet en NDJSON ou CSV, écrit directement dans la réponse : vérif propriété + une requête (curseur)
+    @SqlBudget(2)
+    @GetMapping("/project/{projectId}/export")
+    public void exportTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("project-" + projectId + "-tasks." + format.getExtension())
+                .build().toString());
+        taskExportService.exportTasks(projectId, status, format, currentUser.getId(), response.getOutputStream());
+    }
+
+    // Import en flux, mêmes formats et colonnes que l'export : corps lu directement, sans désérialisation globale.
+    // Nombre de requêtes SQL proportionnel au fichier (une transaction par lot) : pas de budget fixe
+    @SqlBudget(0)
+    @PostMapping("/project/{projectId}/import")
+    public ResponseEntity<TaskImportResult> importTasks(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(projectId, format, currentUser.getId(), body));
     }
 
+    @SqlBudget(4)
     @PatchMapping("/{taskId}")
     public ResponseEntity<TaskDTO> updateTask(
             @PathVariable Long taskId,
             @RequestBody TaskDTO taskDTO,
-            @AuthenticationPrincipal UserDetails userDetails
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(taskService.updateTask(taskId, taskDTO, userDetails.getUsername()));
+        // If-Match : ETag de la tâche, soit "<version>" (champ version du TaskDTO)
+        TaskDTO task = taskService.updateTask(taskId, taskDTO, currentUser.getId(), ifMatch);
+        return ResponseEntity.ok().eTag(ETags.task(task.getVersion())).body(task);
     }
 
+    @SqlBudget(4)
     @DeleteMapping("/{taskId}")
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long taskId,
-            @AuthenticationPrincipal UserDetails userDetails
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        taskService.deleteTask(taskId, userDetails.getUsername());
+        taskService.deleteTask(taskId, currentUser.getId(), ifMatch);
         return ResponseEntity.noContent().build();
     }
+
+    // --- Opérations bulk : une transaction, un résultat par élément (index, statut, message) ---
+
+    // 1000 éléments : 20 nextval + 20 batchs d'INSERT + 3 (projet, compteurs, agrégat)
+    @SqlBudget(46)
+    @PostMapping("/project/{projectId}/bulk")
+    public ResponseEntity<List<BulkTaskResult>> createTasks(
+            @PathVariable Long projectId,
+            @RequestBody List<TaskDTO> taskDTOs,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(taskService.createTasks(projectId, taskDTOs, currentUser.getId()));
+    }
+
+    // 2 SELECT + 20 batchs d'UPDATE + un ajustement de compteurs par projet touché + 1 (agrégat)
+    @SqlBudget(31)
+    @PatchMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResult>> updateTasks(
+            @RequestBody List<TaskDTO> taskDTOs,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(taskService.updateTasks(taskDTOs, currentUser.getId()));
+    }
+
+    // 2 SELECT + 1 DELETE + un ajustement de compteurs par projet touché + 1 (agrégat)
+    @SqlBudget(11)
+    @DeleteMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResult>> deleteTasks(
+            @RequestBody List<Long> taskIds,
+            @AuthenticationPrincipal AuthenticatedUser currentUser
+    ) {
+        return ResponseEntity.ok(taskService.deleteTasks(taskIds, currentUser.getId()));
+    }
 }
\ No newline at end of file
@@ -1,11 +1,12 @@
 package com.elarbiallam.task_tracker_backend.controller;
 
 import com.elarbiallam.task_tracker_backend.dto.user.UserDTO;
+import com.elarbiallam.task_tracker_backend.metrics.SqlBudget;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
 import com.elarbiallam.task_tracker_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,17 +17,19 @@ public class UserController {
     private final UserService userService;
 
     // GET /api/users/me : Récupérer mon profil
+    @SqlBudget(1)
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(userService.getCurrentUserProfile(userDetails.getUsername()));
+    public ResponseEntity<UserDTO> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return ResponseEntity.ok(userService.getCurrentUserProfile(currentUser.getId()));
     }
 
     // PATCH /api/users/me : Mettre à jour mon profil
+    @SqlBudget(2)
     @PatchMapping("/me")
     public ResponseEntity<UserDTO> updateProfile(
             @RequestBody UserDTO userDTO,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal AuthenticatedUser currentUser
     ) {
-        return ResponseEntity.ok(userService.updateUserProfile(userDetails.getUsername(), userDTO));
+        return ResponseEntity.ok(userService.updateUserProfile(currentUser.getId(), userDTO));
     }
 }
\ No newline at end of file
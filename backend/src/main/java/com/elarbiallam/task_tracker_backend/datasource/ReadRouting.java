@@ -0,0 +1,17 @@
+package com.elarbiallam.task_tracker_backend.datasource;
+
+/**
+ * Cible des lectures de la requête HTTP en cours, partagée par toutes ses transactions read-only :
+ * l'ETag et le corps d'une réponse sont lus sur la même base (sinon le corps pourrait venir d'un réplica
+ * plus en retard que celui de l'ETag, et un 304 servirait ensuite ce corps périmé).
+ */
+public interface ReadRouting {
+
+    String PRIMARY = "primary";
+
+    // PRIMARY, clé du réplica déjà utilisé par la requête, ou null (aucune lecture encore, ou hors requête)
+    String target();
+
+    // Mémorise la base choisie pour les lectures suivantes de la requête ; sans effet hors requête
+    void pin(String target);
+}
@@ -0,0 +1,129 @@
+package com.elarbiallam.task_tracker_backend.datasource;
+
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes face au retard des réplicas : dès le début d'une requête d'écriture et jusqu'à stickyWindow
+ * après sa réussite, les lectures de l'utilisateur (ou, sans authentification, de son adresse IP) restent sur
+ * le primaire. Le marquage précède l'écriture : une lecture envoyée dès la réception de la réponse le voit déjà.
+ * Une écriture en échec ne marque pas le client. Placé après la chaîne Spring Security : l'utilisateur est connu.
+ * État local à l'instance.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter implements ReadRouting {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ThreadLocal<String[]> readTarget = new ThreadLocal<>();
+
+    // Clé client -> fin de la fenêtre (ticker, ns). L'entrée expire au plus tard stickyWindow après son écriture
+    private final Cache<String, Long> recentWriters;
+    private final Ticker ticker;
+    private final long stickyWindowNanos;
+
+    public ReadYourWritesFilter(Duration stickyWindow, long maxClients) {
+        this(stickyWindow, maxClients, Ticker.systemTicker());
+    }
+
+    ReadYourWritesFilter(Duration stickyWindow, long maxClients, Ticker ticker) {
+        this.ticker = ticker;
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(maxClients)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public String target() {
+        String[] target = readTarget.get();
+        return target != null ? target[0] : null;
+    }
+
+    @Override
+    public void pin(String target) {
+        String[] current = readTarget.get();
+        if (current != null) {
+            current[0] = target;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        String userKey = userKey();
+        String ipKey = "ip" + request.getRemoteAddr();
+
+        Long previousIpDeadline = recentWriters.getIfPresent(ipKey);
+        Long previousUserDeadline = userKey != null ? recentWriters.getIfPresent(userKey) : null;
+        boolean sticky = write || isActive(previousIpDeadline) || isActive(previousUserDeadline);
+        if (write) {
+            mark(ipKey, userKey);
+        }
+
+        readTarget.set(new String[]{sticky ? PRIMARY : null});
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(request, response);
+            succeeded = response.getStatus() < 400;
+        } finally {
+            readTarget.remove();
+            if (write) {
+                if (succeeded) {
+                    mark(ipKey, userKey); // fenêtre comptée depuis la fin de l'écriture
+                } else {
+                    restore(ipKey, previousIpDeadline);
+                    if (userKey != null) {
+                        restore(userKey, previousUserDeadline);
+                    }
+                }
+            }
+        }
+    }
+
+    // --- Private Methods ---
+
+    private void mark(String ipKey, String userKey) {
+        long deadline = ticker.read() + stickyWindowNanos;
+        recentWriters.put(ipKey, deadline);
+        if (userKey != null) {
+            recentWriters.put(userKey, deadline);
+        }
+    }
+
+    // Écriture en échec : retour à l'état d'avant la requête (fenêtre d'une écriture précédente conservée)
+    private void restore(String key, Long previousDeadline) {
+        if (isActive(previousDeadline)) {
+            recentWriters.put(key, previousDeadline);
+        } else {
+            recentWriters.invalidate(key);
+        }
+    }
+
+    private boolean isActive(Long deadline) {
+        return deadline != null && deadline - ticker.read() > 0;
+    }
+
+    private String userKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u" + user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.elarbiallam.task_tracker_backend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource des transactions en lecture seule (LazyConnectionDataSourceProxy#setReadOnlyDataSource) :
+ * un réplica choisi en round-robin puis conservé pour toute la requête (ReadRouting), ou le primaire si la requête
+ * y est attachée (read-your-writes) ou si aucun réplica n'est disponible. Un réplica en retard ou injoignable
+ * est retiré de la rotation par checkReplicas().
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Retard de rejeu en ms ; 0 si tout le WAL reçu est rejoué (primaire inactif) ou si l'instance n'est pas un standby
+    private static final String REPLICATION_LAG_SQL = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final ReadRouting readRouting;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> available;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadRouting readRouting) {
+        this.readRouting = readRouting;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadRouting.PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+            targets.put("replica-" + i, replicas.get(i));
+        }
+        this.available = List.of(); // lectures sur le primaire jusqu'à la première vérification
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = readRouting.target();
+        List<String> keys = available;
+        if (target != null) {
+            // Réplica retiré en cours de requête : le primaire, seul garanti au moins aussi à jour
+            return target.equals(ReadRouting.PRIMARY) || keys.contains(target) ? target : ReadRouting.PRIMARY;
+        }
+        target = keys.isEmpty() ? ReadRouting.PRIMARY : keys.get(Math.floorMod(next.getAndIncrement(), keys.size()));
+        readRouting.pin(target);
+        return target;
+    }
+
+    // Réplicas en rotation après la dernière vérification
+    public List<String> availableReplicas() {
+        return available;
+    }
+
+    // Garde-fou de retard : seuls les réplicas joignables et à moins de maxLagMillis restent en rotation
+    public void checkReplicas(long maxLagMillis) {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try (Connection connection = replica.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(REPLICATION_LAG_SQL)) {
+                rs.next();
+                double lagMillis = rs.getDouble(1);
+                if (lagMillis <= maxLagMillis) {
+                    healthy.add(replica.getKey());
+                } else {
+                    log.warn("Replica {} is {} ms behind, reads go elsewhere", replica.getKey(), (long) lagMillis);
+                }
+            } catch (SQLException ex) {
+                log.warn("Replica {} is unreachable, reads go elsewhere: {}", replica.getKey(), ex.getMessage());
+            }
+        }
+        healthy.sort(null);
+        available = List.copyOf(healthy);
+    }
+}
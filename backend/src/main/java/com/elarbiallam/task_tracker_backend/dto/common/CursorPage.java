@@ -0,0 +1,39 @@
+package com.elarbiallam.task_tracker_backend.dto.common;
+
+import com.elarbiallam.task_tracker_backend.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Page en mode curseur (keyset) : pas de COUNT(*), le client renvoie nextCursor pour la page suivante.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private String nextCursor; // null sur la dernière page
+
+    private int size;
+
+    // Le curseur est opaque pour le client : simple Base64 URL-safe de la clé de tri
+    public static String encodeCursor(String rawCursor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.elarbiallam.task_tracker_backend.dto.common;
+
+import org.springframework.http.CacheControl;
+
+import java.util.Arrays;
+
+/**
+ * ETags forts des ressources projet / tâche, dérivés des colonnes version / compteurs
+ * (calculables sans charger ni sérialiser les lignes), et comparaison avec If-Match.
+ * Les listes ont des ETags faibles : elles ne servent qu'à If-None-Match (comparaison faible)
+ * et peuvent être compressées (gzip), ce que Tomcat refuse pour une réponse à ETag fort.
+ */
+public final class ETags {
+
+    // Réponses conservables par le navigateur mais toujours revalidées (If-None-Match -> 304)
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    public static String task(Long version) {
+        return quote(String.valueOf(version));
+    }
+
+    // Le projet sérialisé dépend de ses champs (version) et de ses compteurs de tâches
+    public static String project(Long version, int totalTasks, int completedTasks) {
+        return quote(version + "-" + totalTasks + "-" + completedTasks);
+    }
+
+    // Toute création / suppression de projet change count ou maxId, toute écriture augmente une des sommes
+    public static String projectList(Long count, Long maxId, Long versionSum, Long tasksRevisionSum) {
+        return "W/" + quote("l" + count + "-" + orZero(maxId) + "-" + orZero(versionSum) + "-" + orZero(tasksRevisionSum));
+    }
+
+    public static String taskList(Long tasksRevision) {
+        return "W/" + quote("r" + tasksRevision);
+    }
+
+    /**
+     * If-Match absent : pas de condition. Sinon "*" ou l'un des ETags listés doit être identique
+     * (comparaison forte : un ETag faible W/"..." ne correspond jamais).
+     */
+    public static boolean matches(String ifMatch, String currentETag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(currentETag));
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
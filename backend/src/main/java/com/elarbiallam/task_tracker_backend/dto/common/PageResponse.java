@@ -0,0 +1,34 @@
+package com.elarbiallam.task_tracker_backend.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page en mode offset, sous une forme stable et compacte : remplace la sérialisation directe de Page
+ * (blocs pageable / sort répétés à chaque réponse, format non garanti par Spring Data).
+ * Noms de champs identiques à ceux de Page utilisés par le frontend.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+
+    private List<T> content;
+
+    private int number; // index de la page, à partir de 0
+
+    private int size;
+
+    private long totalElements;
+
+    private int totalPages;
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,29 @@
+package com.elarbiallam.task_tracker_backend.dto.dashboard;
+
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardSummaryDTO {
+
+    private long totalTasks;
+
+    private Map<TaskStatus, Long> tasksByStatus; // Tous les statuts, 0 compris
+
+    private long overdueTasks; // Échéance avant aujourd'hui, non COMPLETED
+
+    private long dueThisWeekTasks; // Échéance entre aujourd'hui et dimanche inclus, non COMPLETED
+
+    private LocalDate today; // Date de référence du calcul (fuseau du serveur)
+
+    private LocalDate weekEnd;
+}
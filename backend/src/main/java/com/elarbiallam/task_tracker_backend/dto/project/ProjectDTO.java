@@ -1,5 +1,6 @@
 package com.elarbiallam.task_tracker_backend.dto.project;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Builder
 @AllArgsConstructor
@@ -23,8 +25,29 @@ public class ProjectDTO {
 
     private LocalDateTime createdAt;
 
+    // Version (verrou optimiste) : à renvoyer dans If-Match pour les mises à jour conditionnelles
+    private Long version;
+
     // Champs calculés pour le Dashboard
     private int totalTasks;
     private int completedTasks;
     private double progressPercentage;
+
+    // Utilisé par la projection JPQL de ProjectRepository et par ProjectServiceImpl.mapToDTO
+    public ProjectDTO(Long id, String title, String description, LocalDateTime createdAt,
+                      Long version, int totalTasks, int completedTasks) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.version = version;
+        this.totalTasks = totalTasks;
+        this.completedTasks = completedTasks;
+
+        double progress = 0.0;
+        if (totalTasks > 0) {
+            progress = ((double) completedTasks / totalTasks) * 100;
+        }
+        this.progressPercentage = Math.round(progress * 100.0) / 100.0;
+    }
 }
\ No newline at end of file
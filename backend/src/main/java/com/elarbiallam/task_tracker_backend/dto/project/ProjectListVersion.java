@@ -0,0 +1,11 @@
+package com.elarbiallam.task_tracker_backend.dto.project;
+
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
+
+// Projection JPQL (agrégats) : ETag de la liste des projets d'un utilisateur en une requête
+public record ProjectListVersion(Long count, Long maxId, Long versionSum, Long tasksRevisionSum) {
+
+    public String eTag() {
+        return ETags.projectList(count, maxId, versionSum, tasksRevisionSum);
+    }
+}
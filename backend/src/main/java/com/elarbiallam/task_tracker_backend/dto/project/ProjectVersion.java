@@ -0,0 +1,11 @@
+package com.elarbiallam.task_tracker_backend.dto.project;
+
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
+
+// Projection JPQL : de quoi calculer l'ETag d'un projet sans charger l'entité
+public record ProjectVersion(Long version, int totalTasks, int completedTasks) {
+
+    public String eTag() {
+        return ETags.project(version, totalTasks, completedTasks);
+    }
+}
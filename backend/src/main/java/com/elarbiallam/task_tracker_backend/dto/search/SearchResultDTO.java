@@ -0,0 +1,31 @@
+package com.elarbiallam.task_tracker_backend.dto.search;
+
+import com.elarbiallam.task_tracker_backend.enums.SearchResultType;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResultDTO {
+
+    private SearchResultType type; // TASK ou PROJECT
+
+    private Long id;
+
+    private Long projectId; // Projet de la tâche (ou le projet lui-même)
+
+    private String projectTitle;
+
+    private String title;
+
+    private String description;
+
+    private TaskStatus status; // null pour un projet
+
+    private float rank; // Pertinence ts_rank : titre (poids A) > description (poids B)
+}
@@ -0,0 +1,24 @@
+package com.elarbiallam.task_tracker_backend.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Résultat individuel d'un élément d'une opération bulk
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskResult {
+
+    private int index; // position de l'élément dans la requête
+
+    private Long taskId;
+
+    private int status; // 200, 201, 204, 400, 403, 404
+
+    private String message; // raison du rejet
+
+    private TaskDTO task;
+}
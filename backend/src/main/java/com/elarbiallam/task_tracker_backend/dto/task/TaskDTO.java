@@ -1,6 +1,7 @@
 package com.elarbiallam.task_tracker_backend.dto.task;
 
 import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,8 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
+// Champs null omis (description, échéance...) : réponses de liste plus légères
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Data
 @Builder
 @AllArgsConstructor
@@ -27,4 +30,6 @@ public class TaskDTO {
     private TaskStatus status; // PENDING, IN_PROGRESS, COMPLETED
 
     private Long projectId; // Important pour savoir à quel projet lier la tâche
+
+    private Long version; // Verrou optimiste : ETag de la tâche, à renvoyer dans If-Match (ou par élément en bulk)
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.elarbiallam.task_tracker_backend.dto.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Bilan d'un import : compteurs + détail des premières lignes rejetées (liste bornée)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskImportResult {
+
+    private long accepted;
+
+    private long rejected;
+
+    private List<BulkTaskResult> errors; // index = numéro de ligne de données (à partir de 1), status 400
+}
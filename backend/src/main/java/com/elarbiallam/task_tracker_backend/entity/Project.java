@@ -5,7 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OptimisticLock;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,6 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "projects")
+// Un projet en cours de purge asynchrone n'est plus visible (voir ProjectPurgeServiceImpl)
+@SQLRestriction("pending_deletion = false")
 public class Project {
 
     @Id
@@ -31,11 +36,38 @@ public class Project {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // Compteurs dénormalisés : modifiés uniquement par des UPDATE SQL atomiques
+    // (ProjectRepository.adjustTaskCounts), jamais par le dirty checking de l'entité.
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int totalTasks = 0;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int completedTasks = 0;
+
+    // Incrémenté à chaque écriture sur une tâche du projet (adjustTaskCounts) : ETag de la liste des tâches
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long tasksRevision = 0;
+
+    // Verrou optimiste sur les champs du projet (titre, description), exposé dans l'ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     // Cascade ALL : Si je supprime un projet, ses tâches disparaissent.
+    // La suppression passe toutefois par des DELETE ensemblistes (ProjectServiceImpl.deleteProject),
+    // jamais par projectRepository.delete() qui chargerait chaque tâche.
+    // Exclue du verrou optimiste : ajouter une tâche ne doit pas changer la version du projet
+    @OptimisticLock(excluded = true)
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Task> tasks;
 }
\ No newline at end of file
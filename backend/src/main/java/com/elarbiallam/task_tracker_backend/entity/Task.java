@@ -17,8 +17,10 @@ import java.time.LocalDate;
 @Table(name = "tasks")
 public class Task {
 
+    // Séquence (et non IDENTITY) : Hibernate peut regrouper les INSERT en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,4 +36,10 @@ public class Task {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
+
+    // Verrou optimiste, exposé comme ETag. Null tant que la tâche n'est pas persistée :
+    // Spring Data s'en sert pour choisir persist() plutôt que merge()
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
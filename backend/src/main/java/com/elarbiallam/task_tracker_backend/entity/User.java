@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 
 @Data
@@ -27,4 +28,11 @@ public class User {
 
     private String firstName;
     private String lastName;
+
+    // Incrémentée pour révoquer tous les tokens déjà émis (vérifiée en mode non stateless).
+    // Lue depuis le cache usersByEmail : l'entrée de l'utilisateur doit être invalidée avec le changement
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int tokenVersion = 0;
 }
\ No newline at end of file
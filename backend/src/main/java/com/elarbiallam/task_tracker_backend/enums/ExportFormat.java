@@ -0,0 +1,14 @@
+package com.elarbiallam.task_tracker_backend.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"), // un TaskDTO JSON par ligne
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+}
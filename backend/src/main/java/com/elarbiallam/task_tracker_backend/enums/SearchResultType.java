@@ -0,0 +1,6 @@
+package com.elarbiallam.task_tracker_backend.enums;
+
+public enum SearchResultType {
+    TASK,
+    PROJECT
+}
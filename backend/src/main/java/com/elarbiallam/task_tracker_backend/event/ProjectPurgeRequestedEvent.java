@@ -0,0 +1,5 @@
+package com.elarbiallam.task_tracker_backend.event;
+
+// Publié quand un projet volumineux est marqué pour suppression asynchrone
+public record ProjectPurgeRequestedEvent(Long projectId) {
+}
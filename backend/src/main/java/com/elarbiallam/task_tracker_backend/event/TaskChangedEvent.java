@@ -0,0 +1,14 @@
+package com.elarbiallam.task_tracker_backend.event;
+
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+
+import java.util.List;
+
+// Publié par TaskServiceImpl ; diffusé aux abonnés SSE du projet après le commit (TaskEventServiceImpl).
+// Pour DELETED, les DTO ne portent que l'id et le projectId.
+public record TaskChangedEvent(Long projectId, Type type, List<TaskDTO> tasks) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
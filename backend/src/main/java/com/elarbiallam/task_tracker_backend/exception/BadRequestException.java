@@ -0,0 +1,7 @@
+package com.elarbiallam.task_tracker_backend.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
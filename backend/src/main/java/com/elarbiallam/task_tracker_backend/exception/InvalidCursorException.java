@@ -0,0 +1,7 @@
+package com.elarbiallam.task_tracker_backend.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
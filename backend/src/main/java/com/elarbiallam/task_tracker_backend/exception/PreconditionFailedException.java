@@ -0,0 +1,8 @@
+package com.elarbiallam.task_tracker_backend.exception;
+
+// If-Match ne correspond plus à la version courante de la ressource (412)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.elarbiallam.task_tracker_backend.exception;
+
+// Capacité du serveur atteinte (503 + Retry-After) : le client doit réessayer plus tard
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
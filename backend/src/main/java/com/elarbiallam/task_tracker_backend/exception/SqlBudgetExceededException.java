@@ -0,0 +1,8 @@
+package com.elarbiallam.task_tracker_backend.exception;
+
+// Levée par SqlMetricsFilter quand application.sql.budget.fail-on-exceed est actif (tests)
+public class SqlBudgetExceededException extends IllegalStateException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.elarbiallam.task_tracker_backend.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ajoute à http.server.requests un tag "handler" (ProjectController.getProjectById, ...) :
+ * latences par méthode de contrôleur, en plus des tags method / uri / status par défaut.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final KeyValue NO_HANDLER = KeyValue.of("handler", "none");
+
+    private final Map<Method, KeyValue> handlerNames = new ConcurrentHashMap<>();
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerNames.computeIfAbsent(handlerMethod.getMethod(), method -> KeyValue.of("handler",
+                    handlerMethod.getBeanType().getSimpleName() + "." + method.getName()));
+        }
+        return NO_HANDLER;
+    }
+}
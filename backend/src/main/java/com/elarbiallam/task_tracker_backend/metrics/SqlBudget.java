@@ -0,0 +1,17 @@
+package com.elarbiallam.task_tracker_backend.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal de requêtes SQL attendu pour un endpoint (méthode ou contrôleur entier).
+ * Vérifié par SqlMetricsFilter à chaque requête ; sans annotation, application.sql.budget.default s'applique.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
@@ -0,0 +1,136 @@
+package com.elarbiallam.task_tracker_backend.metrics;
+
+import com.elarbiallam.task_tracker_backend.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nombre et durée cumulée des requêtes SQL par requête HTTP, avec les mêmes tags method / uri
+ * que http.server.requests. Placé avant la chaîne Spring Security pour inclure le chargement
+ * de l'utilisateur en mode JWT non stateless.
+ * Chaque requête est comparée au budget de son endpoint (@SqlBudget) : dépassement compté et logué,
+ * ou exception en mode strict (tests) pour détecter les régressions N+1.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    // Une entrée par route (pattern), pas par URL : cardinalité bornée
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    // Budget des endpoints sans @SqlBudget (0 : pas de contrôle)
+    @Value("${application.sql.budget.default:10}")
+    private int defaultBudget = 10;
+
+    // true : un dépassement fait échouer la requête (tests) ; false : simple log + compteur (production)
+    @Value("${application.sql.budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    public SqlMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        String violation;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.stop();
+            violation = record(request, stats);
+        }
+        // Hors du finally : ne masque pas une exception déjà levée par la chaîne
+        if (violation != null && failOnExceed) {
+            throw new SqlBudgetExceededException(violation);
+        }
+    }
+
+    private String record(HttpServletRequest request, SqlRequestStats stats) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        RouteMeters route = meters.computeIfAbsent(method + " " + uri, key -> newRouteMeters(method, uri));
+        route.statements().record(stats.getStatements());
+        route.time().record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        int budget = budget(request);
+        if (budget <= 0 || stats.getStatements() <= budget) {
+            return null;
+        }
+        route.overBudget().increment();
+        String violation = String.format("SQL budget exceeded on %s %s: %d statements (budget %d)",
+                method, uri, stats.getStatements(), budget);
+        log.warn("{}", violation);
+        return violation;
+    }
+
+    private int budget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultBudget;
+        }
+        return budgets.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            SqlBudget annotation = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+            if (annotation == null) {
+                annotation = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+            }
+            return annotation != null ? annotation.value() : defaultBudget;
+        });
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private record RouteMeters(DistributionSummary statements, Timer time, Counter overBudget) {
+    }
+
+    private RouteMeters newRouteMeters(String method, String uri) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        return new RouteMeters(
+                DistributionSummary.builder("http.server.requests.sql.statements")
+                        .description("Nombre de requêtes SQL par requête HTTP")
+                        .baseUnit("statements")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Timer.builder("http.server.requests.sql.time")
+                        .description("Temps SQL cumulé par requête HTTP")
+                        .tags(tags)
+                        .register(meterRegistry),
+                Counter.builder("http.server.requests.sql.budget.exceeded")
+                        .description("Requêtes HTTP ayant dépassé leur budget de requêtes SQL")
+                        .tags(tags)
+                        .register(meterRegistry));
+    }
+}
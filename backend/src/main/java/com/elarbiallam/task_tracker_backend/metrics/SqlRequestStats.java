@@ -0,0 +1,43 @@
+package com.elarbiallam.task_tracker_backend.metrics;
+
+/**
+ * Requêtes SQL exécutées par le thread courant depuis le début de la requête HTTP
+ * (alimenté par SqlStatementMetrics, ouvert / fermé par SqlMetricsFilter).
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlRequestStats() {
+    }
+
+    public static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // Hors requête HTTP (purge, tâches planifiées, migrations) : rien n'est comptabilisé
+    static void record(long elapsedNanos) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
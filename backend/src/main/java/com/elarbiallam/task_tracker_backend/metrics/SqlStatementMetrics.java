@@ -0,0 +1,53 @@
+package com.elarbiallam.task_tracker_backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener branché sur le DataSource (voir DataSourceProxyConfig) : durée de chaque exécution SQL
+ * par type de requête (jdbc.statements) et cumul pour la requête HTTP en cours.
+ * Un batch JDBC compte pour une seule exécution.
+ */
+@Component
+public class SqlStatementMetrics implements QueryExecutionListener {
+
+    private final Map<QueryType, Timer> timers = new EnumMap<>(QueryType.class);
+    // ExecutionInfo ne donne qu'une durée en millisecondes : on mesure nous-mêmes en nanosecondes
+    private final ThreadLocal<long[]> startTime = ThreadLocal.withInitial(() -> new long[1]);
+
+    public SqlStatementMetrics(MeterRegistry meterRegistry) {
+        for (QueryType type : QueryType.values()) {
+            timers.put(type, Timer.builder("jdbc.statements")
+                    .description("Durée d'exécution des requêtes SQL")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        startTime.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = System.nanoTime() - startTime.get()[0];
+        QueryType type = queryInfoList.isEmpty()
+                ? QueryType.OTHER
+                : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        timers.get(type).record(elapsed, TimeUnit.NANOSECONDS);
+        SqlRequestStats.record(elapsed);
+    }
+}
@@ -1,12 +1,94 @@
 package com.elarbiallam.task_tracker_backend.repository;
 
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectListVersion;
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectVersion;
 import com.elarbiallam.task_tracker_backend.entity.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     Page<Project> findByUserId(Long userId, Pageable pageable);
+
+    // Existence + propriété vérifiées en une seule requête
+    Optional<Project> findByIdAndUserId(Long id, Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Liste du dashboard : DTO construits par la base (compteurs inclus), sans charger d'entités ni de tâches
+    @Query(value = "SELECT new com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO(" +
+            "p.id, p.title, p.description, p.createdAt, p.version, p.totalTasks, p.completedTasks) " +
+            "FROM Project p WHERE p.user.id = :userId",
+            countQuery = "SELECT COUNT(p) FROM Project p WHERE p.user.id = :userId")
+    Page<ProjectDTO> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Pagination keyset (id décroissant) : pas d'OFFSET ni de COUNT(*)
+    @Query("SELECT new com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO(" +
+            "p.id, p.title, p.description, p.createdAt, p.version, p.totalTasks, p.completedTasks) " +
+            "FROM Project p WHERE p.user.id = :userId AND p.id < :beforeId ORDER BY p.id DESC")
+    List<ProjectDTO> findSummariesByUserIdBefore(@Param("userId") Long userId,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Pageable pageable);
+
+    // --- ETags : versions lues sans charger les entités ---
+
+    @Query("SELECT new com.elarbiallam.task_tracker_backend.dto.project.ProjectVersion(" +
+            "p.version, p.totalTasks, p.completedTasks) FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<ProjectVersion> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT new com.elarbiallam.task_tracker_backend.dto.project.ProjectListVersion(" +
+            "COUNT(p), MAX(p.id), SUM(p.version), SUM(p.tasksRevision)) FROM Project p WHERE p.user.id = :userId")
+    ProjectListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.tasksRevision FROM Project p WHERE p.id = :id AND p.user.id = :userId")
+    Optional<Long> findTasksRevisionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Mise à jour atomique des compteurs (pas de lost update entre transactions concurrentes).
+    // Appelée à chaque écriture sur une tâche, même sans variation : incrémente tasksRevision.
+    @Modifying
+    @Query("UPDATE Project p SET p.totalTasks = p.totalTasks + :totalDelta, " +
+            "p.completedTasks = p.completedTasks + :completedDelta, " +
+            "p.tasksRevision = p.tasksRevision + 1 WHERE p.id = :projectId")
+    int adjustTaskCounts(@Param("projectId") Long projectId,
+                         @Param("totalDelta") int totalDelta,
+                         @Param("completedDelta") int completedDelta);
+
+    // Nombre de projets dont les compteurs ne correspondent plus à la table tasks
+    @Query(value = "SELECT COUNT(*) FROM projects p " +
+            "WHERE p.total_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id) " +
+            "OR p.completed_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'COMPLETED')",
+            nativeQuery = true)
+    long countProjectsWithTaskCountDrift();
+
+    // Recalcule les compteurs des seuls projets en écart (sert aussi de backfill initial)
+    @Modifying
+    @Query(value = "UPDATE projects p SET " +
+            "total_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id), " +
+            "completed_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'COMPLETED'), " +
+            "tasks_revision = tasks_revision + 1 " +
+            "WHERE p.total_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id) " +
+            "OR p.completed_tasks <> (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'COMPLETED')",
+            nativeQuery = true)
+    int repairTaskCounts();
+
+    // Requêtes natives : elles doivent voir les projets masqués par @SQLRestriction
+    @Modifying
+    @Query(value = "UPDATE projects SET pending_deletion = TRUE WHERE id = :projectId", nativeQuery = true)
+    int markPendingDeletion(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT id FROM projects WHERE pending_deletion = TRUE", nativeQuery = true)
+    List<Long> findPendingDeletionIds();
+
+    @Modifying
+    @Query(value = "DELETE FROM projects WHERE id = :projectId", nativeQuery = true)
+    int deleteProjectRow(@Param("projectId") Long projectId);
 }
\ No newline at end of file
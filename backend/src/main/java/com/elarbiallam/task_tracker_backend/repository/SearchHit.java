@@ -0,0 +1,13 @@
+package com.elarbiallam.task_tracker_backend.repository;
+
+// Ligne brute de TaskRepository.search (projection de requête native)
+public interface SearchHit {
+    String getType(); // TASK ou PROJECT
+    Long getId();
+    Long getProjectId();
+    String getProjectTitle();
+    String getTitle();
+    String getDescription();
+    String getStatus(); // null pour un projet
+    Float getRank();
+}
@@ -0,0 +1,9 @@
+package com.elarbiallam.task_tracker_backend.repository;
+
+// Ligne de TaskRepository.sumRollupsByUserId (projection de requête native)
+public interface StatusRollup {
+    String getStatus();
+    Long getTotal();
+    Long getOverdue();
+    Long getDueThisWeek();
+}
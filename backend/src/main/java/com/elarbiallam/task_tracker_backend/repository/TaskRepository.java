@@ -1,18 +1,145 @@
 package com.elarbiallam.task_tracker_backend.repository;
 
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
 import com.elarbiallam.task_tracker_backend.entity.Task;
 import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
     // Récupérer toutes les tâches d'un projet avec pagination
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
 
     // Récupérer les tâches d'un projet FILTRÉES par statut avec pagination
     Page<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status, Pageable pageable);
+
+    // Export : DTO construits directement (aucune entité attachée à la session), lus par paquets de 1000 via
+    // un curseur PostgreSQL (fetch size, transaction requise). Ordre de l'index idx_tasks_project_due_date : pas de tri
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.elarbiallam.task_tracker_backend.dto.task.TaskDTO(" +
+            "t.id, t.title, t.description, t.dueDate, t.status, t.project.id, t.version) " +
+            "FROM Task t WHERE t.project.id = :projectId ORDER BY t.dueDate, t.id")
+    Stream<TaskDTO> streamByProjectId(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.elarbiallam.task_tracker_backend.dto.task.TaskDTO(" +
+            "t.id, t.title, t.description, t.dueDate, t.status, t.project.id, t.version) " +
+            "FROM Task t WHERE t.project.id = :projectId AND t.status = :status ORDER BY t.dueDate, t.id")
+    Stream<TaskDTO> streamByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
+
+    // Existence + propriété vérifiées en une seule requête (jointure tasks -> projects)
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId AND t.project.user.id = :userId")
+    Optional<Task> findByIdAndOwnerId(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    // Variante bulk : toutes les tâches demandées appartenant à l'utilisateur, en une requête
+    @Query("SELECT t FROM Task t WHERE t.id IN :taskIds AND t.project.user.id = :userId")
+    List<Task> findAllByIdInAndOwnerId(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
+
+    // Distingue 404 et 403 pour les ids non retrouvés par la requête précédente
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :taskIds")
+    List<Long> findExistingIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Suppression ensembliste des tâches d'un projet, en un seul DELETE
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteAllByProjectIdInBatch(@Param("projectId") Long projectId);
+
+    // Recherche plein texte sur les tâches et les projets de l'utilisateur, triée par pertinence.
+    // Chaque branche passe par l'index GIN de search_vector (V7) ; ts_rank n'est calculé que sur les correspondances.
+    // Les projets en cours de purge sont exclus explicitement (requête native : pas de @SQLRestriction).
+    // Limite : les index GIN ne sont pas partitionnés par utilisateur. Un terme fréquent chez tous les utilisateurs
+    // fait lire toutes ses correspondances avant le filtre user_id ; le coût suit le nombre global de correspondances.
+    @Query(value = "SELECT * FROM (" +
+            "SELECT 'TASK' AS type, t.id AS id, t.project_id AS \"projectId\", p.title AS \"projectTitle\", " +
+            "t.title AS title, t.description AS description, t.status AS status, " +
+            "ts_rank(t.search_vector, websearch_to_tsquery('simple', :query)) AS rank " +
+            "FROM tasks t JOIN projects p ON p.id = t.project_id " +
+            "WHERE t.search_vector @@ websearch_to_tsquery('simple', :query) " +
+            "AND p.user_id = :userId AND p.pending_deletion = FALSE " +
+            "UNION ALL " +
+            "SELECT 'PROJECT', p.id, p.id, p.title, p.title, p.description, NULL, " +
+            "ts_rank(p.search_vector, websearch_to_tsquery('simple', :query)) " +
+            "FROM projects p " +
+            "WHERE p.search_vector @@ websearch_to_tsquery('simple', :query) " +
+            "AND p.user_id = :userId AND p.pending_deletion = FALSE" +
+            ") hits ORDER BY rank DESC, type DESC, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<SearchHit> search(@Param("userId") Long userId,
+                           @Param("query") String query,
+                           @Param("limit") int limit,
+                           @Param("offset") long offset);
+
+    // --- Agrégat task_rollups (V8) : résumé du dashboard sans parcourir tasks ---
+
+    // Applique des variations de compteurs en une requête, quel que soit le nombre de clés.
+    // Clés uniques et triées par l'appelant (TaskRollups) : ordre de verrouillage stable entre transactions.
+    @Modifying
+    @Query(value = "INSERT INTO task_rollups (project_id, status, due_date, task_count) " +
+            "SELECT * FROM unnest(CAST(:projectIds AS bigint[]), CAST(:statuses AS varchar[]), " +
+            "CAST(:dueDates AS date[]), CAST(:deltas AS integer[])) " +
+            "ON CONFLICT (project_id, status, due_date) " +
+            "DO UPDATE SET task_count = task_rollups.task_count + EXCLUDED.task_count", nativeQuery = true)
+    int adjustRollups(@Param("projectIds") Long[] projectIds,
+                      @Param("statuses") String[] statuses,
+                      @Param("dueDates") LocalDate[] dueDates,
+                      @Param("deltas") Integer[] deltas);
+
+    // Une ligne par statut pour l'ensemble des projets de l'utilisateur
+    @Query(value = "SELECT r.status AS status, SUM(r.task_count) AS total, " +
+            "SUM(CASE WHEN r.due_date < :today THEN r.task_count ELSE 0 END) AS overdue, " +
+            "SUM(CASE WHEN r.due_date BETWEEN :today AND :weekEnd THEN r.task_count ELSE 0 END) AS \"dueThisWeek\" " +
+            "FROM task_rollups r JOIN projects p ON p.id = r.project_id " +
+            "WHERE p.user_id = :userId AND p.pending_deletion = FALSE " +
+            "GROUP BY r.status", nativeQuery = true)
+    List<StatusRollup> sumRollupsByUserId(@Param("userId") Long userId,
+                                          @Param("today") LocalDate today,
+                                          @Param("weekEnd") LocalDate weekEnd);
+
+    // Projets dont l'agrégat ne correspond plus à la table tasks (parcours complet : réparation uniquement)
+    @Query(value = "SELECT DISTINCT COALESCE(a.project_id, r.project_id) FROM " +
+            "(SELECT project_id, status, due_date, COUNT(*) AS task_count FROM tasks " +
+            "WHERE status IS NOT NULL GROUP BY project_id, status, due_date) a " +
+            "FULL JOIN (SELECT * FROM task_rollups WHERE task_count <> 0) r " +
+            "ON r.project_id = a.project_id AND r.status = a.status " +
+            "AND COALESCE(r.due_date, CAST('-infinity' AS date)) = COALESCE(a.due_date, CAST('-infinity' AS date)) " +
+            "WHERE a.task_count IS DISTINCT FROM r.task_count", nativeQuery = true)
+    List<Long> findProjectIdsWithRollupDrift();
+
+    // Lignes vidées par les décréments (échéances passées, statuts abandonnés)
+    @Modifying
+    @Query(value = "DELETE FROM task_rollups WHERE task_count = 0", nativeQuery = true)
+    int deleteEmptyRollups();
+
+    @Modifying
+    @Query(value = "DELETE FROM task_rollups WHERE project_id IN :projectIds", nativeQuery = true)
+    int deleteRollups(@Param("projectIds") Collection<Long> projectIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_rollups (project_id, status, due_date, task_count) " +
+            "SELECT project_id, status, due_date, COUNT(*) FROM tasks " +
+            "WHERE project_id IN :projectIds AND status IS NOT NULL " +
+            "GROUP BY project_id, status, due_date", nativeQuery = true)
+    int insertRollups(@Param("projectIds") Collection<Long> projectIds);
+
+    // Suppression par lots bornés (purge asynchrone des gros projets)
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE id IN " +
+            "(SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import com.elarbiallam.task_tracker_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Exécute le hachage BCrypt (inscription, login, mise à niveau des hash) sur un pool dédié et borné.
+ * Un pic de logins ne peut occuper qu'au plus threads + queue-capacity threads de requête ;
+ * au-delà, la requête est rejetée immédiatement (503 + Retry-After) au lieu de s'empiler.
+ * Métriques : security.password.hash.queue (profondeur), .active, .wait (attente dans la file), .rejected.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("security.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hachages de mots de passe en attente d'un thread")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hachages de mots de passe en cours")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("security.password.hash.wait")
+                .description("Attente dans la file avant le hachage")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("security.password.hash.rejected")
+                .description("Hachages refusés : file pleine ou attente trop longue")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Pas de hachage ici : simple lecture du coût encodé dans le hash
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Supplier<T> hashing) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return hashing.get();
+            });
+        } catch (RejectedExecutionException ex) {
+            throw rejected();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Retiré de la file s'il n'a pas commencé : aucun hachage pour un client déjà rejeté
+            future.cancel(true);
+            executor.remove((Runnable) future);
+            throw rejected();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private ServiceUnavailableException rejected() {
+        rejectedCounter.increment();
+        return new ServiceUnavailableException("Authentication is temporarily overloaded, please retry");
+    }
+}
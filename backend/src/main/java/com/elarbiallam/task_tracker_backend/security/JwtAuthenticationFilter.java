@@ -1,10 +1,13 @@
 package com.elarbiallam.task_tracker_backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,11 +20,26 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Claims déjà vérifiés pour la requête (par RateLimitFilter) : pas de second parsing
+    private static final String VERIFIED_CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final Timer verifyTimer;
+
+    // true : le principal est construit depuis les claims, sans requête SQL
+    @Value("${application.security.jwt.stateless:true}")
+    private boolean stateless = true;
+
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Durée de parsing et de vérification de signature du JWT")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(
@@ -30,22 +48,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        final Claims claims = resolveClaims(request);
         final String userEmail;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (claims == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtUtils.extractUsername(jwt);
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (jwtUtils.isTokenValid(jwt, userDetails)) {
+            UserDetails userDetails = stateless ? jwtUtils.toPrincipal(claims) : null;
+
+            if (userDetails == null) {
+                // Mode avec vérification en base (ou ancien token sans id/version)
+                UserDetails storedUser = this.userDetailsService.loadUserByUsername(userEmail);
+                if (jwtUtils.isTokenValid(claims, storedUser)) {
+                    userDetails = storedUser;
+                }
+            }
+
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -57,4 +81,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Claims du token Bearer de la requête, ou null sans en-tête Authorization.
+     * Un seul parsing + vérification de signature par requête, quel que soit le nombre d'appelants.
+     * Lève une JwtException si le token est invalide ou expiré.
+     */
+    public Claims resolveClaims(HttpServletRequest request) {
+        if (request.getAttribute(VERIFIED_CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims;
+        }
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        final String jwt = authHeader.substring(7);
+        Claims claims = verifyTimer.record(() -> jwtUtils.parseToken(jwt));
+        request.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, claims);
+        return claims;
+    }
 }
@@ -1,6 +1,8 @@
 package com.elarbiallam.task_tracker_backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -16,52 +18,88 @@ import java.util.function.Function;
 @Component
 public class JwtUtils {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+
+    // Mode stateless : la version du token n'est jamais vérifiée, elle n'est donc pas émise
+    private final boolean stateless;
+
+    // Clé HMAC et parser construits une seule fois (thread-safe, immuables)
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+
+    public JwtUtils(
+            @Value("${application.security.jwt.secret-key}") String secretKey,
+            @Value("${application.security.jwt.expiration}") long jwtExpiration,
+            @Value("${application.security.jwt.stateless:true}") boolean stateless
+    ) {
+        this.jwtExpiration = jwtExpiration;
+        this.stateless = stateless;
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
+    /**
+     * Vérifie la signature et l'expiration du token en une seule passe.
+     * Lève une JwtException si le token est invalide ou expiré.
+     */
+    public Claims parseToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
-    public String generateToken(String username) {
-        return Jwts.builder()
-                .setSubject(username)
+    public String generateToken(AuthenticatedUser user) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId());
+        if (!stateless) {
+            builder.claim(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
+        return builder
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Construit le principal à partir de claims déjà vérifiés, sans accès à la base (mode stateless :
+     * aucune révocation avant expiration). Retourne null pour les anciens tokens qui ne portent pas l'id.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        if (userId == null) {
+            return null;
+        }
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class); // absente des tokens stateless
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), null,
+                tokenVersion == null ? 0 : tokenVersion.intValue());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Travaille sur des claims déjà vérifiés : aucun nouveau parsing du token
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        boolean valid = claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+        if (valid && userDetails instanceof AuthenticatedUser user) {
+            // Un token émis avant un changement de version est révoqué
+            Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+            valid = (tokenVersion == null ? 0 : tokenVersion.intValue()) == user.getTokenVersion();
+        }
+        return valid;
     }
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import com.elarbiallam.task_tracker_backend.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation de débit placée avant JwtAuthenticationFilter : un token bucket par (groupe de routes, client).
+ * Client = id utilisateur du JWT (signature vérifiée, claims réutilisés ensuite par JwtAuthenticationFilter),
+ * ou adresse IP pour /api/auth/** et les requêtes sans token valide.
+ * Les seaux vivent dans un cache Caffeine borné (taille max + expiration après inactivité) :
+ * la mémoire ne dépend pas du nombre de clients vus.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Limit> limits;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Counter> rejectedCounters;
+
+    @Value("${application.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    public RateLimitFilter(JwtAuthenticationFilter jwtAuthFilter,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${application.rate-limit.max-buckets:100000}") long maxBuckets,
+                           @Value("${application.rate-limit.idle-timeout:600000}") long idleTimeout,
+                           @Value("${application.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${application.rate-limit.auth.per-second:0.2}") double authPerSecond,
+                           @Value("${application.rate-limit.tasks.capacity:100}") int tasksCapacity,
+                           @Value("${application.rate-limit.tasks.per-second:50}") double tasksPerSecond,
+                           @Value("${application.rate-limit.api.capacity:60}") int apiCapacity,
+                           @Value("${application.rate-limit.api.per-second:20}") double apiPerSecond) {
+        this.jwtAuthFilter = jwtAuthFilter;
+        this.objectMapper = objectMapper;
+        this.limits = Map.of(
+                "auth", new Limit(authCapacity, authPerSecond),
+                "tasks", new Limit(tasksCapacity, tasksPerSecond),
+                "api", new Limit(apiCapacity, apiPerSecond));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMillis(idleTimeout))
+                .build();
+        Gauge.builder("http.server.requests.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets en mémoire (un par groupe de routes et client actif)")
+                .register(meterRegistry);
+        this.rejectedCounters = Map.of(
+                "auth", rejectedCounter(meterRegistry, "auth"),
+                "tasks", rejectedCounter(meterRegistry, "tasks"),
+                "api", rejectedCounter(meterRegistry, "api"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Préflight CORS et endpoints hors /api (actuator) non limités
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String group = routeGroup(request.getRequestURI());
+        String key = group + ":" + clientKey(request, group);
+        Limit limit = limits.get(group);
+
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> new TokenBucket(limit.capacity(), limit.perSecond(), now))
+                .tryConsume(now);
+        if (waitNanos > 0) {
+            rejectedCounters.get(group).increment();
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // --- Private Methods ---
+
+    private String routeGroup(String uri) {
+        if (uri.startsWith("/api/auth/")) {
+            return "auth";
+        }
+        if (uri.startsWith("/api/tasks/")) {
+            return "tasks";
+        }
+        return "api";
+    }
+
+    private String clientKey(HttpServletRequest request, String group) {
+        if (!group.equals("auth")) {
+            try {
+                Claims claims = jwtAuthFilter.resolveClaims(request);
+                if (claims != null) {
+                    Number userId = claims.get(JwtUtils.CLAIM_USER_ID, Number.class);
+                    return "u" + (userId != null ? userId.longValue() : claims.getSubject());
+                }
+            } catch (JwtException ex) {
+                // Token invalide : limité par IP, l'erreur est traitée par JwtAuthenticationFilter
+            }
+        }
+        // Adresse du client réel derrière le reverse proxy : server.forward-headers-strategy
+        return "ip" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        ErrorResponse body = ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .message("Trop de requêtes, veuillez réessayer plus tard")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String group) {
+        return Counter.builder("http.server.requests.rate-limited")
+                .description("Requêtes rejetées (429) par la limitation de débit")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    private record Limit(int capacity, double perSecond) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sans verrou, sous sa forme GCRA : l'état tient dans un seul long
+ * (instant théorique où le seau sera de nouveau plein), mis à jour par compareAndSet.
+ * capacity = rafale autorisée, interval = temps de recharge d'un jeton.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.intervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consomme un jeton. Retourne 0 si la requête passe, sinon l'attente (ns) avant le prochain jeton.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long overflow = next - nowNanos - burstNanos;
+            if (overflow > 0) {
+                return overflow; // seau vide : l'état n'est pas modifié
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
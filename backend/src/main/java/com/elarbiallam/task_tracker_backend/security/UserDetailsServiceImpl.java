@@ -1,30 +1,41 @@
 package com.elarbiallam.task_tracker_backend.security;
 
+import com.elarbiallam.task_tracker_backend.config.CacheConfig;
 import com.elarbiallam.task_tracker_backend.entity.User;
 import com.elarbiallam.task_tracker_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // AuthenticatedUser n'est pas un CredentialsContainer : le hash en cache n'est jamais effacé par Spring Security
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.emptyList()
-        );
+        return AuthenticatedUser.from(user);
+    }
+
+    // Appelé par DaoAuthenticationProvider après un login réussi avec un hash à mettre à niveau (bcrypt-strength)
+    @Override
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#user.username")
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        AuthenticatedUser current = (AuthenticatedUser) user;
+        return new AuthenticatedUser(current.getId(), current.getEmail(), newPassword, current.getTokenVersion());
     }
 }
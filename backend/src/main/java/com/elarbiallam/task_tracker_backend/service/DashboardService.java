@@ -0,0 +1,8 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+import com.elarbiallam.task_tracker_backend.dto.dashboard.DashboardSummaryDTO;
+
+public interface DashboardService {
+    // Résumé de toutes les tâches de l'utilisateur, calculé sur l'agrégat task_rollups
+    DashboardSummaryDTO getSummary(Long userId);
+}
@@ -0,0 +1,5 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+public interface ProjectPurgeService {
+    void purge(Long projectId);
+}
@@ -1,12 +1,17 @@
 package com.elarbiallam.task_tracker_backend.service;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
 import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
 import org.springframework.data.domain.Page;
 
 public interface ProjectService {
-    ProjectDTO createProject(ProjectDTO projectDTO, String userEmail);
-    Page<ProjectDTO> getUserProjects(String userEmail, int page, int size);
-    ProjectDTO getProjectById(Long projectId, String userEmail);
-    ProjectDTO updateProject(Long projectId, ProjectDTO projectDTO, String userEmail);
-    void deleteProject(Long projectId, String userEmail);
+    ProjectDTO createProject(ProjectDTO projectDTO, Long userId);
+    Page<ProjectDTO> getUserProjects(Long userId, int page, int size);
+    CursorPage<ProjectDTO> getUserProjectsAfter(Long userId, String cursor, int size);
+    ProjectDTO getProjectById(Long projectId, Long userId);
+    ProjectDTO updateProject(Long projectId, ProjectDTO projectDTO, Long userId, String ifMatch);
+    boolean deleteProject(Long projectId, Long userId, String ifMatch); // false : purge asynchrone planifiée
+    // ETags calculés sans charger les projets (réponses 304)
+    String getUserProjectsETag(Long userId);
+    String getProjectETag(Long projectId, Long userId);
 }
\ No newline at end of file
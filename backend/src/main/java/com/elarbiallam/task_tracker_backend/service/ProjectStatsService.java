@@ -0,0 +1,7 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+public interface ProjectStatsService {
+    long countProjectsWithTaskCountDrift();
+    int repairTaskCounts();
+    int repairTaskRollups(); // agrégat task_rollups du dashboard
+}
@@ -0,0 +1,9 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.search.SearchResultDTO;
+
+public interface SearchService {
+    // Tâches et projets de l'utilisateur correspondant à la requête, du plus pertinent au moins pertinent
+    CursorPage<SearchResultDTO> search(Long userId, String query, String cursor, int size);
+}
@@ -0,0 +1,8 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TaskEventService {
+    // Flux SSE des tâches créées / modifiées / supprimées dans le projet
+    SseEmitter subscribe(Long projectId, Long userId);
+}
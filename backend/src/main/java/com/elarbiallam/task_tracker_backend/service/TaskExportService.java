@@ -0,0 +1,12 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface TaskExportService {
+    // Écrit toutes les tâches du projet (filtrées par statut si fourni) au fil de la lecture, sans les charger en mémoire
+    void exportTasks(Long projectId, TaskStatus status, ExportFormat format, Long userId, OutputStream out) throws IOException;
+}
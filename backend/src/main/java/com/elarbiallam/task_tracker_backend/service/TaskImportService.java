@@ -0,0 +1,12 @@
+package com.elarbiallam.task_tracker_backend.service;
+
+import com.elarbiallam.task_tracker_backend.dto.task.TaskImportResult;
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TaskImportService {
+    // Lit le corps au fil de l'eau et crée les tâches valides par lots ; les lignes invalides sont comptées et ignorées
+    TaskImportResult importTasks(Long projectId, ExportFormat format, Long userId, InputStream in) throws IOException;
+}
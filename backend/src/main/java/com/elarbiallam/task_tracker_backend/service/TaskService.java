@@ -1,12 +1,22 @@
 package com.elarbiallam.task_tracker_backend.service;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.task.BulkTaskResult;
 import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
 import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface TaskService {
-    TaskDTO createTask(Long projectId, TaskDTO taskDTO, String userEmail);
-    Page<TaskDTO> getTasksByProjectId(Long projectId, TaskStatus status, int page, int size, String userEmail , String sortTitle);
-    TaskDTO updateTask(Long taskId, TaskDTO taskDTO, String userEmail);
-    void deleteTask(Long taskId, String userEmail);
+    TaskDTO createTask(Long projectId, TaskDTO taskDTO, Long userId);
+    Page<TaskDTO> getTasksByProjectId(Long projectId, TaskStatus status, int page, int size, Long userId, String sortTitle);
+    CursorPage<TaskDTO> getTasksByProjectIdAfter(Long projectId, TaskStatus status, String cursor, int size, Long userId, String sortTitle);
+    TaskDTO updateTask(Long taskId, TaskDTO taskDTO, Long userId, String ifMatch);
+    void deleteTask(Long taskId, Long userId, String ifMatch);
+    List<BulkTaskResult> createTasks(Long projectId, List<TaskDTO> taskDTOs, Long userId);
+    List<BulkTaskResult> updateTasks(List<TaskDTO> taskDTOs, Long userId);
+    List<BulkTaskResult> deleteTasks(List<Long> taskIds, Long userId);
+    // ETag de la liste des tâches d'un projet (réponses 304), vérifie aussi la propriété
+    String getTasksETag(Long projectId, Long userId);
 }
\ No newline at end of file
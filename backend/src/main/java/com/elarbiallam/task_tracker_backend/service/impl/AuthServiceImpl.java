@@ -5,13 +5,14 @@ import com.elarbiallam.task_tracker_backend.dto.auth.LoginRequest;
 import com.elarbiallam.task_tracker_backend.dto.auth.RegisterRequest;
 import com.elarbiallam.task_tracker_backend.entity.User;
 import com.elarbiallam.task_tracker_backend.repository.UserRepository;
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
 import com.elarbiallam.task_tracker_backend.security.JwtUtils;
 import com.elarbiallam.task_tracker_backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -40,7 +41,7 @@ public class AuthServiceImpl implements AuthService {
                 .build();
 
         userRepository.save(user);
-        var jwtToken = jwtUtils.generateToken(user.getEmail());
+        var jwtToken = jwtUtils.generateToken(AuthenticatedUser.from(user));
 
         return AuthResponse.builder()
                 .token(jwtToken)
@@ -52,18 +53,17 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse login(LoginRequest request) {
         // Authentifie l'utilisateur via Spring Security
         // Si le mot de passe est faux, cette méthode lance automatiquement BadCredentialsException (401 UNAUTHORIZED)
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
                 )
         );
 
-        // Récupère l'utilisateur pour générer le token
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + request.getEmail()));
+        // Le principal chargé par UserDetailsServiceImpl suffit : pas de seconde requête
+        var user = (AuthenticatedUser) authentication.getPrincipal();
 
-        var jwtToken = jwtUtils.generateToken(user.getEmail());
+        var jwtToken = jwtUtils.generateToken(user);
 
         return AuthResponse.builder()
                 .token(jwtToken)
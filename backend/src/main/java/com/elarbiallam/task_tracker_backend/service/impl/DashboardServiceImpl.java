@@ -0,0 +1,58 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.dto.dashboard.DashboardSummaryDTO;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.repository.StatusRollup;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private final TaskRepository taskRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public DashboardSummaryDTO getSummary(Long userId) {
+        LocalDate today = LocalDate.now();
+        LocalDate weekEnd = today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+        Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            tasksByStatus.put(status, 0L);
+        }
+
+        long totalTasks = 0;
+        long overdueTasks = 0;
+        long dueThisWeekTasks = 0;
+        // Une ligne par statut : requête sur l'agrégat, indépendante du nombre de tâches
+        for (StatusRollup rollup : taskRepository.sumRollupsByUserId(userId, today, weekEnd)) {
+            TaskStatus status = TaskStatus.valueOf(rollup.getStatus());
+            tasksByStatus.put(status, rollup.getTotal());
+            totalTasks += rollup.getTotal();
+            if (status != TaskStatus.COMPLETED) {
+                overdueTasks += rollup.getOverdue();
+                dueThisWeekTasks += rollup.getDueThisWeek();
+            }
+        }
+
+        return DashboardSummaryDTO.builder()
+                .totalTasks(totalTasks)
+                .tasksByStatus(tasksByStatus)
+                .overdueTasks(overdueTasks)
+                .dueThisWeekTasks(dueThisWeekTasks)
+                .today(today)
+                .weekEnd(weekEnd)
+                .build();
+    }
+}
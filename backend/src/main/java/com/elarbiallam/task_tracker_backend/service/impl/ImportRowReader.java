@@ -0,0 +1,104 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture incrémentale d'un fichier d'import, ligne NDJSON ou enregistrement CSV (RFC 4180) un par un.
+ * Seule la ligne courante est en mémoire, bornée par maxRowLength.
+ */
+final class ImportRowReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxRowLength;
+    private int pushedBack = NONE;
+    private int rowLength;
+
+    ImportRowReader(Reader reader, int maxRowLength) {
+        this.reader = reader;
+        this.maxRowLength = maxRowLength;
+    }
+
+    // Ligne suivante sans le saut de ligne (\n ou \r\n), null en fin de flux
+    String readLine() throws IOException {
+        rowLength = 0;
+        StringBuilder line = new StringBuilder();
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            append(line, c);
+            c = read();
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    // Champs de l'enregistrement suivant, null en fin de flux. Un champ entre guillemets peut contenir , " et sauts de ligne
+    List<String> readCsvRecord() throws IOException {
+        rowLength = 0;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        append(field, '"'); // guillemet doublé
+                    } else {
+                        quoted = false;
+                        pushedBack = next;
+                    }
+                } else {
+                    append(field, c);
+                }
+            } else if (c == '"' && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(field, c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void append(StringBuilder builder, int c) {
+        if (++rowLength > maxRowLength) {
+            throw new BadRequestException("Row is longer than " + maxRowLength + " characters");
+        }
+        builder.append((char) c);
+    }
+}
@@ -0,0 +1,87 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.event.ProjectPurgeRequestedEvent;
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.ProjectPurgeService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Suppression en arrière-plan des projets volumineux : les tâches sont supprimées par lots,
+ * chaque lot dans sa propre transaction, pour ne jamais garder une connexion longtemps.
+ * Le projet est masqué dès le marquage (pending_deletion) et supprimé en dernier.
+ */
+@Slf4j
+@Service
+public class ProjectPurgeServiceImpl implements ProjectPurgeService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Un seul thread : les purges passent l'une après l'autre sans saturer le pool de connexions
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "project-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${application.projects.delete.chunk-size:5000}")
+    private int chunkSize;
+
+    public ProjectPurgeServiceImpl(TaskRepository taskRepository,
+                                   ProjectRepository projectRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Après le commit du marquage uniquement : un rollback n'entraîne aucune purge
+    @TransactionalEventListener
+    public void onPurgeRequested(ProjectPurgeRequestedEvent event) {
+        executor.submit(() -> purge(event.projectId()));
+    }
+
+    // Reprise des purges interrompues (arrêt ou crash pendant la suppression)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPurges() {
+        projectRepository.findPendingDeletionIds()
+                .forEach(projectId -> executor.submit(() -> purge(projectId)));
+    }
+
+    @Override
+    public void purge(Long projectId) {
+        try {
+            long deletedTasks = 0;
+            Integer deleted;
+            do {
+                deleted = transactionTemplate.execute(status ->
+                        taskRepository.deleteChunkByProjectId(projectId, chunkSize));
+                deletedTasks += deleted == null ? 0 : deleted;
+            } while (deleted != null && deleted > 0);
+
+            transactionTemplate.executeWithoutResult(status -> projectRepository.deleteProjectRow(projectId));
+            log.info("Project {} purged ({} tasks)", projectId, deletedTasks);
+        } catch (RuntimeException ex) {
+            // Le projet reste marqué : la purge reprendra au prochain démarrage
+            log.error("Purge of project {} failed", projectId, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
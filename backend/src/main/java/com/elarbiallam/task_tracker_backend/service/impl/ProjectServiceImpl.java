@@ -1,21 +1,28 @@
 package com.elarbiallam.task_tracker_backend.service.impl;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
 import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectVersion;
 import com.elarbiallam.task_tracker_backend.entity.Project;
-import com.elarbiallam.task_tracker_backend.entity.Task;
 import com.elarbiallam.task_tracker_backend.entity.User;
-import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.event.ProjectPurgeRequestedEvent;
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+import com.elarbiallam.task_tracker_backend.exception.InvalidCursorException;
+import com.elarbiallam.task_tracker_backend.exception.PreconditionFailedException;
 import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
 import com.elarbiallam.task_tracker_backend.repository.UserRepository;
 import com.elarbiallam.task_tracker_backend.service.ProjectService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,12 +34,21 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Au-delà de ce nombre de tâches, la suppression part en arrière-plan
+    @Value("${application.projects.delete.async-threshold:10000}")
+    private int asyncDeleteThreshold;
+
+    @Value("${application.projects.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     @Transactional
-    public ProjectDTO createProject(ProjectDTO projectDTO, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public ProjectDTO createProject(ProjectDTO projectDTO, Long userId) {
+        // Référence sans SELECT : l'id vient du token
+        User user = userRepository.getReferenceById(userId);
 
         Project project = Project.builder()
                 .title(projectDTO.getTitle())
@@ -46,77 +62,133 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<ProjectDTO> getUserProjects(String userEmail, int page, int size) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-
+    public Page<ProjectDTO> getUserProjects(Long userId, int page, int size) {
         // Création de l'objet Pageable (Tri par ID décroissant pour voir les derniers projets en premier)
         Pageable pageable = PageRequest.of(page, size, Sort.by("id").descending());
 
-        // Récupération paginée et conversion en DTO
-        return projectRepository.findByUserId(user.getId(), pageable)
-                .map(this::mapToDTO);
+        // Une requête pour la page + une pour le total, quel que soit le nombre de projets/tâches
+        return projectRepository.findSummariesByUserId(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectDTO> getUserProjectsAfter(Long userId, String cursor, int size) {
+        // size + 1 doit rester > size et borné : ni 500 sur size <= 0, ni table entière en une page
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        Long beforeId = cursor.isEmpty() ? Long.MAX_VALUE : decodeProjectCursor(cursor);
+
+        // size + 1 lignes : la ligne en trop indique seulement qu'une page suivante existe
+        List<ProjectDTO> projects = projectRepository.findSummariesByUserIdBefore(
+                userId, beforeId, PageRequest.of(0, size + 1));
+
+        String nextCursor = null;
+        if (projects.size() > size) {
+            projects = projects.subList(0, size);
+            nextCursor = CursorPage.encodeCursor("p|" + projects.get(size - 1).getId());
+        }
+        return new CursorPage<>(projects, nextCursor, size);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ProjectDTO getProjectById(Long projectId, String userEmail) {
-        Project project = getProjectEntityCheckOwner(projectId, userEmail);
+    public ProjectDTO getProjectById(Long projectId, Long userId) {
+        Project project = getProjectEntityCheckOwner(projectId, userId);
         return mapToDTO(project);
     }
 
     @Override
     @Transactional
-    public ProjectDTO updateProject(Long projectId, ProjectDTO projectDTO, String userEmail) {
-        Project project = getProjectEntityCheckOwner(projectId, userEmail);
+    public ProjectDTO updateProject(Long projectId, ProjectDTO projectDTO, Long userId, String ifMatch) {
+        Project project = getProjectEntityCheckOwner(projectId, userId);
+        checkIfMatch(project, ifMatch);
 
         project.setTitle(projectDTO.getTitle());
         project.setDescription(projectDTO.getDescription());
 
-        Project updatedProject = projectRepository.save(project);
+        // Flush immédiat : la version incrémentée (nouvel ETag) fait partie de la réponse
+        Project updatedProject = projectRepository.saveAndFlush(project);
         return mapToDTO(updatedProject);
     }
 
     @Override
     @Transactional
-    public void deleteProject(Long projectId, String userEmail) {
-        Project project = getProjectEntityCheckOwner(projectId, userEmail);
-        projectRepository.delete(project);
+    public boolean deleteProject(Long projectId, Long userId, String ifMatch) {
+        Project project = getProjectEntityCheckOwner(projectId, userId);
+        checkIfMatch(project, ifMatch);
+
+        if (project.getTotalTasks() > asyncDeleteThreshold) {
+            // Masqué immédiatement, supprimé par lots après le commit
+            projectRepository.markPendingDeletion(projectId);
+            eventPublisher.publishEvent(new ProjectPurgeRequestedEvent(projectId));
+            return false;
+        }
+
+        // Deux DELETE ensemblistes au lieu d'un DELETE par tâche via la cascade
+        taskRepository.deleteAllByProjectIdInBatch(projectId);
+        projectRepository.deleteProjectRow(projectId);
+        return true;
     }
 
-    // --- Private Methods ---
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserProjectsETag(Long userId) {
+        return projectRepository.findListVersionByUserId(userId).eTag();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getProjectETag(Long projectId, Long userId) {
+        return projectRepository.findVersionByIdAndUserId(projectId, userId)
+                .map(ProjectVersion::eTag)
+                .orElseThrow(() -> projectNotOwned(projectId));
+    }
 
-    private Project getProjectEntityCheckOwner(Long projectId, String userEmail) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+    // --- Private Methods ---
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You do not have permission to access this project");
-        }
-        return project;
+    // Une requête sur le chemin nominal ; la seconde (existsById) ne sert qu'à distinguer 404 et 403
+    private Project getProjectEntityCheckOwner(Long projectId, Long userId) {
+        return projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> projectNotOwned(projectId));
     }
 
-    private ProjectDTO mapToDTO(Project project) {
-        List<Task> tasks = project.getTasks();
-        int totalTasks = (tasks == null) ? 0 : tasks.size();
+    private RuntimeException projectNotOwned(Long projectId) {
+        return projectRepository.existsById(projectId)
+                ? new AccessDeniedException("You do not have permission to access this project")
+                : new EntityNotFoundException("Project not found with id: " + projectId);
+    }
 
-        int completedTasks = (tasks == null) ? 0 : (int) tasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.COMPLETED)
-                .count();
+    // If-Match : la modification ne s'applique qu'à la version vue par le client
+    private void checkIfMatch(Project project, String ifMatch) {
+        String currentETag = ETags.project(project.getVersion(), project.getTotalTasks(), project.getCompletedTasks());
+        if (!ETags.matches(ifMatch, currentETag)) {
+            throw new PreconditionFailedException("Project has been modified since it was loaded");
+        }
+    }
 
-        double progress = 0.0;
-        if (totalTasks > 0) {
-            progress = ((double) completedTasks / totalTasks) * 100;
+    private Long decodeProjectCursor(String cursor) {
+        String rawCursor = CursorPage.decodeCursor(cursor);
+        if (!rawCursor.startsWith("p|")) {
+            throw new InvalidCursorException();
+        }
+        try {
+            return Long.parseLong(rawCursor.substring(2));
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException();
         }
+    }
 
-        return ProjectDTO.builder()
-                .id(project.getId())
-                .title(project.getTitle())
-                .description(project.getDescription())
-                .createdAt(project.getCreatedAt())
-                .totalTasks(totalTasks)
-                .completedTasks(completedTasks)
-                .progressPercentage(Math.round(progress * 100.0) / 100.0)
-                .build();
+    private ProjectDTO mapToDTO(Project project) {
+        // Compteurs stockés sur le projet : aucune lecture de la collection tasks
+        return new ProjectDTO(
+                project.getId(),
+                project.getTitle(),
+                project.getDescription(),
+                project.getCreatedAt(),
+                project.getVersion(),
+                project.getTotalTasks(),
+                project.getCompletedTasks()
+        );
     }
 }
\ No newline at end of file
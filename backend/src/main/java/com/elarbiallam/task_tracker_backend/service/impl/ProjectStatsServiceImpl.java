@@ -0,0 +1,80 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.ProjectStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Cohérence des compteurs totalTasks / completedTasks de Project et de l'agrégat task_rollups.
+ * Le backfill est fait par les migrations (V2, V8) ; la réparation parcourt toute la table tasks,
+ * elle reste donc à la demande : au démarrage (repair-on-startup) ou périodiquement (repair-cron).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectStatsServiceImpl implements ProjectStatsService {
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${application.projects.task-counts.repair-on-startup:false}")
+    private boolean repairOnStartup;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countProjectsWithTaskCountDrift() {
+        return projectRepository.countProjectsWithTaskCountDrift();
+    }
+
+    @Override
+    @Transactional
+    public int repairTaskCounts() {
+        int repaired = projectRepository.repairTaskCounts();
+        if (repaired > 0) {
+            log.warn("Task counters repaired on {} project(s)", repaired);
+        }
+        return repaired;
+    }
+
+    @Override
+    @Transactional
+    public int repairTaskRollups() {
+        taskRepository.deleteEmptyRollups();
+        List<Long> projectIds = taskRepository.findProjectIdsWithRollupDrift();
+        if (projectIds.isEmpty()) {
+            return 0;
+        }
+        // Reconstruction complète des projets en écart uniquement
+        taskRepository.deleteRollups(projectIds);
+        taskRepository.insertRollups(projectIds);
+        log.warn("Task rollups repaired on {} project(s)", projectIds.size());
+        return projectIds.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void repairOnStartup() {
+        if (repairOnStartup) {
+            repairTaskCounts();
+            repairTaskRollups();
+        }
+    }
+
+    // Vérification périodique, désactivée par défaut ("-")
+    @Scheduled(cron = "${application.projects.task-counts.repair-cron:-}")
+    @Transactional
+    public void scheduledRepair() {
+        repairTaskCounts();
+        repairTaskRollups();
+    }
+}
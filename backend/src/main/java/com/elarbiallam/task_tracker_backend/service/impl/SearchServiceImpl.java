@@ -0,0 +1,99 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.search.SearchResultDTO;
+import com.elarbiallam.task_tracker_backend.enums.SearchResultType;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+import com.elarbiallam.task_tracker_backend.exception.InvalidCursorException;
+import com.elarbiallam.task_tracker_backend.repository.SearchHit;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private final TaskRepository taskRepository;
+
+    @Value("${application.search.max-query-length:200}")
+    private int maxQueryLength;
+
+    @Value("${application.search.max-page-size:50}")
+    private int maxPageSize;
+
+    // Profondeur maximale parcourue : au-delà, l'utilisateur doit affiner sa recherche (OFFSET borné)
+    @Value("${application.search.max-results:1000}")
+    private int maxResults;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SearchResultDTO> search(Long userId, String query, String cursor, int size) {
+        String trimmedQuery = query.trim();
+        if (trimmedQuery.isEmpty()) {
+            throw new BadRequestException("Search query is required");
+        }
+        if (trimmedQuery.length() > maxQueryLength) {
+            throw new BadRequestException("Search query is too long, maximum is " + maxQueryLength + " characters");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        long offset = cursor.isEmpty() ? 0 : decodeSearchCursor(cursor);
+        int limit = (int) Math.min(size, maxResults - offset);
+        if (limit <= 0) {
+            return new CursorPage<>(List.of(), null, size);
+        }
+
+        // limit + 1 lignes : la ligne en trop indique seulement qu'une page suivante existe
+        List<SearchHit> hits = taskRepository.search(userId, trimmedQuery, limit + 1, offset);
+
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            if (offset + limit < maxResults) {
+                nextCursor = CursorPage.encodeCursor("s|" + (offset + limit));
+            }
+        }
+        return new CursorPage<>(hits.stream().map(this::mapToDTO).toList(), nextCursor, size);
+    }
+
+    // --- Private Methods ---
+
+    // Le classement par pertinence n'a pas de clé keyset stable : le curseur porte la position
+    private long decodeSearchCursor(String cursor) {
+        String raw = CursorPage.decodeCursor(cursor);
+        if (!raw.startsWith("s|")) {
+            throw new InvalidCursorException();
+        }
+        try {
+            long offset = Long.parseLong(raw.substring(2));
+            if (offset < 0) {
+                throw new InvalidCursorException();
+            }
+            return offset;
+        } catch (NumberFormatException ex) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    private SearchResultDTO mapToDTO(SearchHit hit) {
+        return SearchResultDTO.builder()
+                .type(SearchResultType.valueOf(hit.getType()))
+                .id(hit.getId())
+                .projectId(hit.getProjectId())
+                .projectTitle(hit.getProjectTitle())
+                .title(hit.getTitle())
+                .description(hit.getDescription())
+                .status(hit.getStatus() != null ? TaskStatus.valueOf(hit.getStatus()) : null)
+                .rank(hit.getRank() != null ? hit.getRank() : 0f)
+                .build();
+    }
+}
@@ -0,0 +1,289 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.event.TaskChangedEvent;
+import com.elarbiallam.task_tracker_backend.exception.ServiceUnavailableException;
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.service.TaskEventService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion SSE des changements de tâches, par projet.
+ * Une connexion inactive ne coûte qu'un SseEmitter (requête asynchrone, aucun thread bloqué).
+ * Les envois passent par une file bornée par abonné vidée sur un petit pool dédié : le thread
+ * qui a commité ne fait que sérialiser l'événement une fois et le déposer dans les files.
+ * Un abonné trop lent (file pleine) est déconnecté ; EventSource se reconnecte et recharge la page.
+ * Un envoi bloqué (client qui ne lit plus, tampon TCP plein) occupe son thread jusqu'au délai d'écriture
+ * de Tomcat (server.tomcat.connection-timeout) : au-delà de send-timeout, l'abonné est déconnecté et le pool
+ * reçoit un thread de remplacement tant que l'envoi reste bloqué, pour ne pas retarder les autres abonnés.
+ */
+@Slf4j
+@Service
+public class TaskEventServiceImpl implements TaskEventService {
+
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Subscriber>> subscribersByProject = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter droppedSubscribers;
+    private final ThreadPoolExecutor sender;
+    private final int maxSendThreads;
+
+    // Au-delà, le client se reconnecte (EventSource le fait tout seul)
+    @Value("${application.tasks.events.timeout:1800000}")
+    private long timeout;
+
+    @Value("${application.tasks.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${application.tasks.events.queue-size:256}")
+    private int queueSize;
+
+    @Value("${application.tasks.events.send-timeout:10000}")
+    private long sendTimeoutMillis;
+
+    public TaskEventServiceImpl(ProjectRepository projectRepository,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${application.tasks.events.send-threads:4}") int sendThreads,
+                                @Value("${application.tasks.events.max-send-threads:16}") int maxSendThreads) {
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.maxSendThreads = Math.max(sendThreads, maxSendThreads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("tasks.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Connexions SSE ouvertes sur les événements de tâches")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("tasks.events.dropped")
+                .description("Abonnés SSE déconnectés car trop lents à consommer leurs événements")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long projectId, Long userId) {
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw projectRepository.existsById(projectId)
+                    ? new AccessDeniedException("You do not have permission to access this project")
+                    : new EntityNotFoundException("Project not found with id: " + projectId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open event streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(subscriber::unregister);
+        // Sans complete(), le délai expiré devient une AsyncRequestTimeoutException (réponse d'erreur JSON dans le flux)
+        emitter.onTimeout(() -> {
+            subscriber.unregister();
+            emitter.complete();
+        });
+        emitter.onError(error -> subscriber.unregister());
+        subscribersByProject.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        // Premier message immédiat : en-têtes envoyés, le client sait que le flux est ouvert
+        subscriber.enqueue(SseEmitter.event().comment("subscribed").build());
+        return emitter;
+    }
+
+    // Après le commit uniquement : un rollback ne produit aucun événement
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByProject.get(event.projectId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message;
+        try {
+            // Sérialisé une seule fois, quel que soit le nombre d'abonnés
+            message = SseEmitter.event()
+                    .name("task-" + event.type().name().toLowerCase(Locale.ROOT))
+                    .data(objectMapper.writeValueAsString(event.tasks()))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize task event for project {}", event.projectId(), ex);
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.enqueue(message));
+    }
+
+    // Commentaire périodique : garde les connexions ouvertes à travers les proxies (nginx : 60 s par défaut)
+    @Scheduled(fixedRateString = "${application.tasks.events.heartbeat-interval:25000}")
+    public void sendHeartbeats() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("ping").build();
+        subscribersByProject.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.enqueue(heartbeat)));
+    }
+
+    // Envois bloqués depuis plus de send-timeout : abonné déconnecté, thread de remplacement ajouté au pool
+    @Scheduled(fixedRateString = "${application.tasks.events.send-check-interval:1000}")
+    public void dropStuckSubscribers() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        long limit = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        subscribersByProject.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.dropIfStuck(limit)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribersByProject.values().forEach(subscribers ->
+                subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sender.shutdown();
+    }
+
+    // Plafonné à max-send-threads ; renvoie false si le pool est déjà à son maximum
+    private synchronized boolean resizeSender(int delta) {
+        int size = sender.getCorePoolSize() + delta;
+        if (size > maxSendThreads) {
+            return false;
+        }
+        // Maximum augmenté avant le cœur, diminué après : jamais core > max
+        if (delta > 0) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+        return true;
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        private final AtomicBoolean stuck = new AtomicBoolean();
+        private volatile boolean sending;
+        private volatile long sendStartedAt;
+        private boolean extraThread; // thread de remplacement ajouté au pool pour cet abonné
+
+        private Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<DataWithMediaType> message) {
+            if (!queue.offer(message)) {
+                // Client trop lent : on coupe plutôt que de bufferiser sans limite
+                if (unregister()) {
+                    droppedSubscribers.increment();
+                }
+            }
+            // complete() attend la fin d'un envoi en cours : appelé par le pool, jamais par le thread qui a commité
+            if (scheduled.compareAndSet(false, true)) {
+                sender.execute(this);
+            }
+        }
+
+        // Vide la file ; au plus une exécution à la fois par abonné, donc des envois dans l'ordre
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> message;
+                while (registered.get() && (message = queue.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    sending = true;
+                    try {
+                        emitter.send(message);
+                    } finally {
+                        sending = false;
+                    }
+                }
+                if (!registered.get()) {
+                    emitter.complete(); // déconnecté (file pleine, envoi bloqué) : fin du flux
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Connexion fermée côté client ou emitter déjà terminé
+                unregister();
+            } finally {
+                releaseExtraThread();
+                scheduled.set(false);
+            }
+            if (registered.get() && !queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                sender.execute(this);
+            }
+        }
+
+        // Appelé par la vérification périodique ; ni complete() ni attente : l'emitter est verrouillé par l'envoi
+        void dropIfStuck(long limit) {
+            if (!sending || sendStartedAt - limit > 0 || !stuck.compareAndSet(false, true)) {
+                return;
+            }
+            if (unregister()) {
+                droppedSubscribers.increment();
+            }
+            addExtraThread();
+            log.warn("Dropped SSE subscriber of project {}: send blocked for more than {} ms", projectId, sendTimeoutMillis);
+        }
+
+        // Sous le même verrou que releaseExtraThread : si l'envoi a déjà fini, aucun thread n'est ajouté
+        private synchronized void addExtraThread() {
+            if (sending) {
+                extraThread = resizeSender(1);
+            }
+        }
+
+        // L'envoi bloqué a fini (écrit ou en échec) : le thread de remplacement n'est plus nécessaire
+        private void releaseExtraThread() {
+            if (!stuck.get()) {
+                return;
+            }
+            synchronized (this) {
+                if (extraThread) {
+                    extraThread = false;
+                    resizeSender(-1);
+                }
+            }
+        }
+
+        // true pour l'appel qui a effectivement retiré l'abonné
+        boolean unregister() {
+            if (!registered.compareAndSet(true, false)) {
+                return false;
+            }
+            subscriberCount.decrementAndGet();
+            queue.clear();
+            subscribersByProject.computeIfPresent(projectId, (id, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+            return true;
+        }
+    }
+}
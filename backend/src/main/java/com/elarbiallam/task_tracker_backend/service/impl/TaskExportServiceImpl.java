@@ -0,0 +1,125 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.exception.ServiceUnavailableException;
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.TaskExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Export en flux : chaque ligne lue par le curseur est écrite puis oubliée, la mémoire ne dépend pas
+ * du nombre de tâches. La transaction (et sa connexion) reste ouverte pendant toute l'écriture de la réponse :
+ * le nombre d'exports simultanés est donc borné (503 + Retry-After au-delà) pour laisser le pool aux autres requêtes.
+ * Transaction en lecture-écriture, donc sur le primaire : sur un réplica, une lecture aussi longue peut être
+ * annulée par un conflit de rejeu (hot standby).
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final String CSV_HEADER = "id,title,description,dueDate,status,projectId,version";
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper; // celui de Spring MVC : même JSON que l'API
+    private final Semaphore exportPermits;
+
+    public TaskExportServiceImpl(TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${application.tasks.export.max-concurrent:4}") int maxConcurrentExports) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    @Override
+    @Transactional
+    public void exportTasks(Long projectId, TaskStatus status, ExportFormat format, Long userId, OutputStream out) throws IOException {
+        if (!exportPermits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress");
+        }
+        try {
+            checkProjectOwner(projectId, userId);
+
+            try (Stream<TaskDTO> tasks = status != null
+                    ? taskRepository.streamByProjectIdAndStatus(projectId, status)
+                    : taskRepository.streamByProjectId(projectId)) {
+                if (format == ExportFormat.CSV) {
+                    writeCsv(tasks.iterator(), out);
+                } else {
+                    writeNdjson(tasks.iterator(), out);
+                }
+            }
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    // --- Private Methods ---
+
+    private void writeNdjson(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskDTO.class);
+        // Le générateur a son propre tampon : les octets partent vers la réponse au fil de l'eau
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            while (tasks.hasNext()) {
+                writer.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TaskDTO> tasks, OutputStream out) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            while (tasks.hasNext()) {
+                TaskDTO task = tasks.next();
+                writer.write(task.getId() + "," + csv(task.getTitle()) + "," + csv(task.getDescription()) + ","
+                        + (task.getDueDate() != null ? task.getDueDate() : "") + "," + task.getStatus() + ","
+                        + task.getProjectId() + "," + task.getVersion());
+                writer.write("\r\n");
+            }
+        }
+    }
+
+    // RFC 4180 : champ entre guillemets (guillemets doublés) s'il contient un séparateur, un guillemet ou un saut de ligne
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    // Vérif sécurité seule, sans charger la ligne du projet
+    private void checkProjectOwner(Long projectId, Long userId) {
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw projectRepository.existsById(projectId)
+                    ? new AccessDeniedException("You do not have permission to access this project")
+                    : new EntityNotFoundException("Project not found with id: " + projectId);
+        }
+    }
+}
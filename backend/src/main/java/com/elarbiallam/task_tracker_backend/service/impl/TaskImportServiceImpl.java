@@ -0,0 +1,255 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.dto.task.BulkTaskResult;
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.dto.task.TaskImportResult;
+import com.elarbiallam.task_tracker_backend.entity.Project;
+import com.elarbiallam.task_tracker_backend.entity.Task;
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+import com.elarbiallam.task_tracker_backend.service.TaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import en flux : le corps est lu ligne par ligne et les tâches valides sont insérées par lots de chunk-size,
+ * chaque lot dans sa propre transaction (INSERT en batch JDBC, compteurs et agrégat ajustés une fois par lot).
+ * Aucune connexion n'est tenue pendant la lecture du corps ; la mémoire est bornée par un lot, quelle que soit
+ * la taille du fichier. Un import interrompu laisse en place les lots déjà commités.
+ * Pas d'événement SSE par tâche : le changement de tasksRevision suffit aux clients pour recharger la liste.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final Validator validator;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${application.tasks.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${application.tasks.import.max-row-length:65536}")
+    private int maxRowLength;
+
+    @Value("${application.tasks.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public TaskImportServiceImpl(TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.validator = validator;
+        this.taskReader = objectMapper.readerFor(TaskDTO.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public TaskImportResult importTasks(Long projectId, ExportFormat format, Long userId, InputStream in) throws IOException {
+        checkProjectOwner(projectId, userId);
+
+        ImportRowReader rows = new ImportRowReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), maxRowLength);
+        Map<String, Integer> columns = format == ExportFormat.CSV ? readCsvHeader(rows) : null;
+        TaskImportResult result = TaskImportResult.builder().errors(new ArrayList<>()).build();
+        List<TaskDTO> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+
+        try {
+            while (true) {
+                TaskDTO task;
+                String error;
+                if (columns != null) {
+                    List<String> record = rows.readCsvRecord();
+                    if (record == null) {
+                        break;
+                    }
+                    if (record.size() == 1 && record.get(0).isEmpty()) {
+                        continue; // ligne vide
+                    }
+                    rowNumber++;
+                    task = new TaskDTO();
+                    error = parseCsv(record, columns, task);
+                } else {
+                    String line = rows.readLine();
+                    if (line == null) {
+                        break;
+                    }
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    rowNumber++;
+                    try {
+                        task = taskReader.readValue(line);
+                        error = null;
+                    } catch (JsonProcessingException ex) {
+                        task = null;
+                        error = "Invalid JSON";
+                    }
+                }
+
+                if (error == null) {
+                    error = validate(task);
+                }
+                if (error != null) {
+                    reject(result, rowNumber, error);
+                    continue;
+                }
+                chunk.add(task);
+                if (chunk.size() >= chunkSize) {
+                    insertChunk(projectId, chunk, result);
+                }
+            }
+            insertChunk(projectId, chunk, result);
+        } catch (BadRequestException ex) {
+            // Les lots précédents sont déjà commités : le message l'indique au client
+            throw new BadRequestException("Row " + (rowNumber + 1) + ": " + ex.getMessage()
+                    + " (" + result.getAccepted() + " tasks imported before it)");
+        }
+        return result;
+    }
+
+    // --- Private Methods ---
+
+    // Colonnes repérées par leur nom : un fichier produit par l'export se réimporte tel quel (id, projectId, version ignorés)
+    private Map<String, Integer> readCsvHeader(ImportRowReader rows) throws IOException {
+        List<String> header = rows.readCsvRecord();
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim(), i);
+            }
+        }
+        if (!columns.containsKey("title")) {
+            throw new BadRequestException("CSV header must contain a title column");
+        }
+        return columns;
+    }
+
+    // Remplit task à partir de l'enregistrement ; renvoie le message d'erreur ou null
+    private String parseCsv(List<String> record, Map<String, Integer> columns, TaskDTO task) {
+        task.setTitle(column(record, columns, "title"));
+        task.setDescription(column(record, columns, "description"));
+
+        String dueDate = column(record, columns, "dueDate");
+        if (dueDate != null) {
+            try {
+                task.setDueDate(LocalDate.parse(dueDate));
+            } catch (DateTimeParseException ex) {
+                return "Invalid dueDate: " + dueDate;
+            }
+        }
+
+        String status = column(record, columns, "status");
+        if (status != null) {
+            try {
+                task.setStatus(TaskStatus.valueOf(status));
+            } catch (IllegalArgumentException ex) {
+                return "Invalid status: " + status;
+            }
+        }
+        return null;
+    }
+
+    // Champ vide ou absent : null, comme un champ omis en JSON
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    // Mêmes règles que @Valid sur TaskDTO
+    private String validate(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void reject(TaskImportResult result, int rowNumber, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(BulkTaskResult.builder().index(rowNumber).status(400).message(message).build());
+        }
+    }
+
+    private void insertChunk(Long projectId, List<TaskDTO> chunk, TaskImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Un seul executeBatch par lot (réécrit en INSERT multi-lignes par le driver) au lieu d'un tous les 50
+            entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+
+            Project project = projectRepository.getReferenceById(projectId); // pas de SELECT
+            List<Task> tasks = new ArrayList<>(chunk.size());
+            int completedTasks = 0;
+            TaskRollups rollups = new TaskRollups();
+            for (TaskDTO dto : chunk) {
+                Task task = Task.builder()
+                        .title(dto.getTitle())
+                        .description(dto.getDescription())
+                        .dueDate(dto.getDueDate())
+                        .status(dto.getStatus() != null ? dto.getStatus() : TaskStatus.PENDING)
+                        .project(project)
+                        .build();
+                tasks.add(task);
+                rollups.add(task);
+                completedTasks += task.getStatus() == TaskStatus.COMPLETED ? 1 : 0;
+            }
+
+            taskRepository.saveAll(tasks);
+            projectRepository.adjustTaskCounts(projectId, tasks.size(), completedTasks);
+            rollups.apply(taskRepository);
+        });
+        result.setAccepted(result.getAccepted() + chunk.size());
+        chunk.clear();
+    }
+
+    // Vérif sécurité seule, sans charger la ligne du projet
+    private void checkProjectOwner(Long projectId, Long userId) {
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw projectRepository.existsById(projectId)
+                    ? new AccessDeniedException("You do not have permission to access this project")
+                    : new EntityNotFoundException("Project not found with id: " + projectId);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.entity.Task;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Variations de l'agrégat task_rollups accumulées pendant une écriture, appliquées en une seule requête.
+ * TreeMap : clés triées, donc lignes verrouillées dans le même ordre par toutes les transactions.
+ */
+final class TaskRollups {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::projectId)
+            .thenComparing(Key::status)
+            .thenComparing(Key::dueDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<Key, Integer> deltas = new TreeMap<>(KEY_ORDER);
+
+    void add(Task task) {
+        add(task.getProject().getId(), task, 1);
+    }
+
+    void remove(Task task) {
+        add(task.getProject().getId(), task, -1);
+    }
+
+    // Avant / après une modification : rien à appliquer si ni le statut ni l'échéance n'ont changé
+    void move(TaskStatus previousStatus, LocalDate previousDueDate, Task task) {
+        Long projectId = task.getProject().getId();
+        add(projectId, previousStatus != null ? previousStatus.name() : null, previousDueDate, -1);
+        add(projectId, task, 1);
+    }
+
+    void apply(TaskRepository taskRepository) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int size = deltas.size();
+        Long[] projectIds = new Long[size];
+        String[] statuses = new String[size];
+        LocalDate[] dueDates = new LocalDate[size];
+        Integer[] values = new Integer[size];
+        int i = 0;
+        for (Map.Entry<Key, Integer> entry : deltas.entrySet()) {
+            projectIds[i] = entry.getKey().projectId();
+            statuses[i] = entry.getKey().status();
+            dueDates[i] = entry.getKey().dueDate();
+            values[i] = entry.getValue();
+            i++;
+        }
+        taskRepository.adjustRollups(projectIds, statuses, dueDates, values);
+        deltas.clear();
+    }
+
+    private void add(Long projectId, Task task, int delta) {
+        add(projectId, task.getStatus() != null ? task.getStatus().name() : null, task.getDueDate(), delta);
+    }
+
+    private void add(Long projectId, String status, LocalDate dueDate, int delta) {
+        if (status == null) {
+            return; // Tâches sans statut : hors agrégat (colonne nullable héritée du schéma initial)
+        }
+        deltas.merge(new Key(projectId, status, dueDate), delta, Integer::sum);
+    }
+
+    private record Key(Long projectId, String status, LocalDate dueDate) {
+    }
+}
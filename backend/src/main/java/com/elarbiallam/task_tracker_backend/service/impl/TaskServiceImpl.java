@@ -1,50 +1,83 @@
 package com.elarbiallam.task_tracker_backend.service.impl;
 
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.common.ETags;
+import com.elarbiallam.task_tracker_backend.dto.task.BulkTaskResult;
 import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
 import com.elarbiallam.task_tracker_backend.entity.Project;
 import com.elarbiallam.task_tracker_backend.entity.Task;
+import com.elarbiallam.task_tracker_backend.event.TaskChangedEvent;
 import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+import com.elarbiallam.task_tracker_backend.exception.InvalidCursorException;
+import com.elarbiallam.task_tracker_backend.exception.PreconditionFailedException;
 import com.elarbiallam.task_tracker_backend.repository.ProjectRepository;
 import com.elarbiallam.task_tracker_backend.repository.TaskRepository;
 import com.elarbiallam.task_tracker_backend.service.TaskService;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.tasks.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
+    @Value("${application.tasks.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     @Transactional
-    public TaskDTO createTask(Long projectId, TaskDTO taskDTO, String userEmail) {
-        Project project = getProjectCheckOwner(projectId, userEmail);
+    public TaskDTO createTask(Long projectId, TaskDTO taskDTO, Long userId) {
+        Project project = getProjectCheckOwner(projectId, userId);
 
-        Task task = Task.builder()
-                .title(taskDTO.getTitle())
-                .description(taskDTO.getDescription())
-                .dueDate(taskDTO.getDueDate())
-                .status(taskDTO.getStatus() != null ? taskDTO.getStatus() : TaskStatus.PENDING)
-                .project(project)
-                .build();
+        Task task = buildTask(taskDTO, project);
 
         Task savedTask = taskRepository.save(task);
-        return mapToDTO(savedTask);
+        projectRepository.adjustTaskCounts(projectId, 1, completedWeight(savedTask.getStatus()));
+        TaskRollups rollups = new TaskRollups();
+        rollups.add(savedTask);
+        rollups.apply(taskRepository);
+        TaskDTO created = mapToDTO(savedTask);
+        publish(projectId, TaskChangedEvent.Type.CREATED, List.of(created));
+        return created;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<TaskDTO> getTasksByProjectId(Long projectId, TaskStatus status, int page, int size, String userEmail, String sortTitle) {
-        getProjectCheckOwner(projectId, userEmail); // Vérif sécurité
+    public Page<TaskDTO> getTasksByProjectId(Long projectId, TaskStatus status, int page, int size, Long userId, String sortTitle) {
+        checkProjectOwner(projectId, userId); // Vérif sécurité
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("dueDate").ascending()); // Tri par date d'échéance
         if(sortTitle.equals("sort")){
@@ -65,16 +98,257 @@ public class TaskServiceImpl implements TaskService {
         return taskPage.map(this::mapToDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> getTasksByProjectIdAfter(Long projectId, TaskStatus status, String cursor, int size, Long userId, String sortTitle) {
+        // size + 1 doit rester > size et borné : ni 500 sur size <= 0, ni table entière en une page
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        checkProjectOwner(projectId, userId); // Vérif sécurité
+
+        boolean byTitle = sortTitle.equals("sort");
+
+        // Même ordre que le mode offset, avec l'id comme départage pour une clé unique
+        Sort sort = byTitle
+                ? Sort.by("title").ascending().and(Sort.by("id").ascending())
+                : Sort.by("dueDate").ascending().and(Sort.by("id").ascending());
+
+        Specification<Task> spec = (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+        if (status != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        if (!cursor.isEmpty()) {
+            spec = spec.and(afterCursor(CursorPage.decodeCursor(cursor), byTitle));
+        }
+
+        // size + 1 lignes : la ligne en trop indique seulement qu'une page suivante existe
+        List<Task> tasks = taskRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            nextCursor = CursorPage.encodeCursor(toCursor(tasks.get(size - 1), byTitle));
+        }
+        return new CursorPage<>(tasks.stream().map(this::mapToDTO).toList(), nextCursor, size);
+    }
+
+    @Override
+    @Transactional
+    public TaskDTO updateTask(Long taskId, TaskDTO taskDTO, Long userId, String ifMatch) {
+        Task task = getTaskCheckOwner(taskId, userId, "You do not have permission to modify this task");
+        checkIfMatch(task, ifMatch);
+
+        TaskStatus previousStatus = task.getStatus();
+        LocalDate previousDueDate = task.getDueDate();
+        applyChanges(task, taskDTO);
+
+        // Flush immédiat : la version incrémentée (nouvel ETag) fait partie de la réponse
+        Task updatedTask = taskRepository.saveAndFlush(task);
+
+        // Toujours appelé, même sans variation des compteurs : invalide l'ETag de la liste des tâches
+        int completedDelta = completedWeight(updatedTask.getStatus()) - completedWeight(previousStatus);
+        projectRepository.adjustTaskCounts(updatedTask.getProject().getId(), 0, completedDelta);
+        TaskRollups rollups = new TaskRollups();
+        rollups.move(previousStatus, previousDueDate, updatedTask);
+        rollups.apply(taskRepository); // aucune requête si ni le statut ni l'échéance n'ont changé
+        TaskDTO updated = mapToDTO(updatedTask);
+        publish(updated.getProjectId(), TaskChangedEvent.Type.UPDATED, List.of(updated));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public void deleteTask(Long taskId, Long userId, String ifMatch) {
+        Task task = getTaskCheckOwner(taskId, userId, "You do not have permission to delete this task");
+        checkIfMatch(task, ifMatch);
+
+        taskRepository.delete(task);
+        projectRepository.adjustTaskCounts(task.getProject().getId(), -1, -completedWeight(task.getStatus()));
+        TaskRollups rollups = new TaskRollups();
+        rollups.remove(task);
+        rollups.apply(taskRepository);
+        publish(task.getProject().getId(), TaskChangedEvent.Type.DELETED, List.of(deletedDTO(task)));
+    }
+
     @Override
     @Transactional
-    public TaskDTO updateTask(Long taskId, TaskDTO taskDTO, String userEmail) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+    public List<BulkTaskResult> createTasks(Long projectId, List<TaskDTO> taskDTOs, Long userId) {
+        checkBulkSize(taskDTOs);
+        Project project = getProjectCheckOwner(projectId, userId);
+
+        List<BulkTaskResult> results = new ArrayList<>(taskDTOs.size());
+        List<Task> tasks = new ArrayList<>();
+        List<BulkTaskResult> createdResults = new ArrayList<>();
 
-        if (!task.getProject().getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You do not have permission to modify this task");
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            String error = validate(taskDTOs.get(i));
+            if (error != null) {
+                results.add(rejected(i, null, 400, error));
+                continue;
+            }
+            BulkTaskResult result = BulkTaskResult.builder().index(i).status(201).build();
+            tasks.add(buildTask(taskDTOs.get(i), project));
+            createdResults.add(result);
+            results.add(result);
         }
 
+        // INSERT groupés par lots de hibernate.jdbc.batch_size (ids issus de tasks_seq)
+        taskRepository.saveAll(tasks);
+
+        int completedTasks = 0;
+        TaskRollups rollups = new TaskRollups();
+        List<TaskDTO> created = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            TaskDTO dto = mapToDTO(task);
+            createdResults.get(i).setTaskId(task.getId());
+            createdResults.get(i).setTask(dto);
+            created.add(dto);
+            rollups.add(task);
+            completedTasks += completedWeight(task.getStatus());
+        }
+        if (!tasks.isEmpty()) {
+            projectRepository.adjustTaskCounts(projectId, tasks.size(), completedTasks);
+            rollups.apply(taskRepository);
+            publish(projectId, TaskChangedEvent.Type.CREATED, created);
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTaskResult> updateTasks(List<TaskDTO> taskDTOs, Long userId) {
+        checkBulkSize(taskDTOs);
+        List<Long> taskIds = taskDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskDTO::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, Task> ownedTasks = findOwnedTasks(taskIds, userId);
+        Set<Long> existingIds = findExistingIds(taskIds, ownedTasks);
+
+        List<BulkTaskResult> results = new ArrayList<>(taskDTOs.size());
+        Map<BulkTaskResult, Task> updatedResults = new IdentityHashMap<>();
+        Map<Long, Integer> completedDeltas = new HashMap<>();
+        TaskRollups rollups = new TaskRollups();
+
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            if (taskDTO == null || taskDTO.getId() == null) {
+                results.add(rejected(i, null, 400, "Task id is required"));
+                continue;
+            }
+            Task task = ownedTasks.get(taskDTO.getId());
+            if (task == null) {
+                results.add(notOwned(i, taskDTO.getId(), existingIds));
+                continue;
+            }
+            // Équivalent de If-Match par élément : version fournie = version lue par le client
+            if (taskDTO.getVersion() != null && !taskDTO.getVersion().equals(task.getVersion())) {
+                results.add(rejected(i, task.getId(), 412, "Task has been modified since it was loaded"));
+                continue;
+            }
+
+            TaskStatus previousStatus = task.getStatus();
+            LocalDate previousDueDate = task.getDueDate();
+            applyChanges(task, taskDTO); // UPDATE groupés au flush (dirty checking)
+            completedDeltas.merge(task.getProject().getId(),
+                    completedWeight(task.getStatus()) - completedWeight(previousStatus), Integer::sum);
+            rollups.move(previousStatus, previousDueDate, task);
+
+            BulkTaskResult result = BulkTaskResult.builder().index(i).taskId(task.getId()).status(200).build();
+            updatedResults.put(result, task);
+            results.add(result);
+        }
+
+        // Flush avant le mapping : les DTO portent les versions incrémentées
+        taskRepository.flush();
+        Map<Long, List<TaskDTO>> updatedByProject = new HashMap<>();
+        updatedResults.forEach((result, task) -> {
+            TaskDTO dto = mapToDTO(task);
+            result.setTask(dto);
+            updatedByProject.computeIfAbsent(dto.getProjectId(), id -> new ArrayList<>()).add(dto);
+        });
+
+        // Un appel par projet touché, même sans variation : invalide l'ETag de sa liste de tâches
+        completedDeltas.forEach((projectId, completedDelta) ->
+                projectRepository.adjustTaskCounts(projectId, 0, completedDelta));
+        rollups.apply(taskRepository);
+        updatedByProject.forEach((projectId, updated) ->
+                publish(projectId, TaskChangedEvent.Type.UPDATED, updated));
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTaskResult> deleteTasks(List<Long> taskIds, Long userId) {
+        checkBulkSize(taskIds);
+        List<Long> requestedIds = taskIds.stream().filter(Objects::nonNull).toList();
+        Map<Long, Task> ownedTasks = findOwnedTasks(requestedIds, userId);
+        Set<Long> existingIds = findExistingIds(requestedIds, ownedTasks);
+
+        List<BulkTaskResult> results = new ArrayList<>(taskIds.size());
+        List<Long> deletedIds = new ArrayList<>();
+        Map<Long, List<TaskDTO>> deletedByProject = new HashMap<>();
+        Map<Long, int[]> countDeltas = new HashMap<>(); // projectId -> {total, completed}
+        TaskRollups rollups = new TaskRollups();
+
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId == null) {
+                results.add(rejected(i, null, 400, "Task id is required"));
+                continue;
+            }
+            Task task = ownedTasks.remove(taskId); // un id en double n'est supprimé qu'une fois
+            if (task == null) {
+                results.add(notOwned(i, taskId, existingIds));
+                continue;
+            }
+
+            int[] deltas = countDeltas.computeIfAbsent(task.getProject().getId(), id -> new int[2]);
+            deltas[0]--;
+            deltas[1] -= completedWeight(task.getStatus());
+            deletedIds.add(taskId);
+            rollups.remove(task);
+            deletedByProject.computeIfAbsent(task.getProject().getId(), id -> new ArrayList<>()).add(deletedDTO(task));
+            results.add(BulkTaskResult.builder().index(i).taskId(taskId).status(204).build());
+        }
+
+        if (!deletedIds.isEmpty()) {
+            // Un seul DELETE ... WHERE id IN (...)
+            taskRepository.deleteAllByIdInBatch(deletedIds);
+            countDeltas.forEach((projectId, deltas) ->
+                    projectRepository.adjustTaskCounts(projectId, deltas[0], deltas[1]));
+            rollups.apply(taskRepository);
+            deletedByProject.forEach((projectId, deleted) ->
+                    publish(projectId, TaskChangedEvent.Type.DELETED, deleted));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getTasksETag(Long projectId, Long userId) {
+        return projectRepository.findTasksRevisionByIdAndUserId(projectId, userId)
+                .map(ETags::taskList)
+                .orElseThrow(() -> projectNotOwned(projectId));
+    }
+
+    // --- Private Methods ---
+
+    private Task buildTask(TaskDTO taskDTO, Project project) {
+        return Task.builder()
+                .title(taskDTO.getTitle())
+                .description(taskDTO.getDescription())
+                .dueDate(taskDTO.getDueDate())
+                .status(taskDTO.getStatus() != null ? taskDTO.getStatus() : TaskStatus.PENDING)
+                .project(project)
+                .build();
+    }
+
+    // Mise à jour partielle : seuls les champs fournis sont modifiés
+    private void applyChanges(Task task, TaskDTO taskDTO) {
         if (taskDTO.getTitle() != null) {
             task.setTitle(taskDTO.getTitle());
         }
@@ -90,34 +364,134 @@ public class TaskServiceImpl implements TaskService {
         if (taskDTO.getStatus() != null) {
             task.setStatus(taskDTO.getStatus());
         }
+    }
 
-        Task updatedTask = taskRepository.save(task);
-        return mapToDTO(updatedTask);
+    private void checkBulkSize(List<?> items) {
+        if (items.size() > bulkMaxItems) {
+            throw new BadRequestException("Too many items, maximum is " + bulkMaxItems);
+        }
     }
 
-    @Override
-    @Transactional
-    public void deleteTask(Long taskId, String userEmail) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+    // Mêmes règles que @Valid sur TaskDTO, appliquées élément par élément
+    private String validate(TaskDTO taskDTO) {
+        if (taskDTO == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<TaskDTO>> violations = validator.validate(taskDTO);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
 
-        if (!task.getProject().getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You do not have permission to delete this task");
+    private Map<Long, Task> findOwnedTasks(List<Long> taskIds, Long userId) {
+        if (taskIds.isEmpty()) {
+            return new HashMap<>();
         }
+        return taskRepository.findAllByIdInAndOwnerId(taskIds, userId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
 
-        taskRepository.delete(task);
+    private Set<Long> findExistingIds(List<Long> taskIds, Map<Long, Task> ownedTasks) {
+        List<Long> missingIds = taskIds.stream().filter(id -> !ownedTasks.containsKey(id)).toList();
+        if (missingIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(taskRepository.findExistingIds(missingIds));
     }
 
-    // --- Private Methods ---
+    private BulkTaskResult notOwned(int index, Long taskId, Set<Long> existingIds) {
+        return existingIds.contains(taskId)
+                ? rejected(index, taskId, 403, "You do not have permission to modify this task")
+                : rejected(index, taskId, 404, "Task not found with id: " + taskId);
+    }
+
+    private BulkTaskResult rejected(int index, Long taskId, int status, String message) {
+        return BulkTaskResult.builder().index(index).taskId(taskId).status(status).message(message).build();
+    }
+
+    // Une requête sur le chemin nominal ; la seconde (existsById) ne sert qu'à distinguer 404 et 403
+    private Task getTaskCheckOwner(Long taskId, Long userId, String deniedMessage) {
+        return taskRepository.findByIdAndOwnerId(taskId, userId)
+                .orElseThrow(() -> taskRepository.existsById(taskId)
+                        ? new AccessDeniedException(deniedMessage)
+                        : new EntityNotFoundException("Task not found with id: " + taskId));
+    }
+
+    private Project getProjectCheckOwner(Long projectId, Long userId) {
+        return projectRepository.findByIdAndUserId(projectId, userId)
+                .orElseThrow(() -> projectNotOwned(projectId));
+    }
+
+    // If-Match : la modification ne s'applique qu'à la version vue par le client
+    private void checkIfMatch(Task task, String ifMatch) {
+        if (!ETags.matches(ifMatch, ETags.task(task.getVersion()))) {
+            throw new PreconditionFailedException("Task has been modified since it was loaded");
+        }
+    }
+
+    // Vérif sécurité seule, sans charger la ligne du projet
+    private void checkProjectOwner(Long projectId, Long userId) {
+        if (!projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw projectNotOwned(projectId);
+        }
+    }
+
+    private RuntimeException projectNotOwned(Long projectId) {
+        return projectRepository.existsById(projectId)
+                ? new AccessDeniedException("You do not have permission to access this project")
+                : new EntityNotFoundException("Project not found with id: " + projectId);
+    }
+
+    // Format brut : "t|<id>|<title>" (tri par titre) ou "d|<id>|<dueDate ou vide>" (tri par échéance)
+    private String toCursor(Task task, boolean byTitle) {
+        if (byTitle) {
+            return "t|" + task.getId() + "|" + task.getTitle();
+        }
+        return "d|" + task.getId() + "|" + (task.getDueDate() == null ? "" : task.getDueDate().toString());
+    }
 
-    private Project getProjectCheckOwner(Long projectId, String userEmail) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+    private Specification<Task> afterCursor(String rawCursor, boolean byTitle) {
+        String[] parts = rawCursor.split("\\|", 3);
+        if (parts.length != 3 || !parts[0].equals(byTitle ? "t" : "d")) {
+            throw new InvalidCursorException(); // curseur issu d'un autre tri
+        }
+
+        final Long lastId;
+        final LocalDate lastDueDate;
+        try {
+            lastId = Long.parseLong(parts[1]);
+            lastDueDate = (byTitle || parts[2].isEmpty()) ? null : LocalDate.parse(parts[2]);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new InvalidCursorException();
+        }
 
-        if (!project.getUser().getEmail().equals(userEmail)) {
-            throw new AccessDeniedException("You do not have permission to access this project");
+        if (byTitle) {
+            String lastTitle = parts[2];
+            return (root, query, cb) -> cb.or(
+                    cb.greaterThan(root.<String>get("title"), lastTitle),
+                    cb.and(cb.equal(root.<String>get("title"), lastTitle), cb.greaterThan(root.<Long>get("id"), lastId)));
         }
-        return project;
+        if (lastDueDate == null) {
+            // PostgreSQL place les NULL en fin de tri ascendant : il ne reste que des tâches sans échéance
+            return (root, query, cb) -> cb.and(
+                    cb.isNull(root.get("dueDate")),
+                    cb.greaterThan(root.<Long>get("id"), lastId));
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDate>get("dueDate"), lastDueDate),
+                cb.and(cb.equal(root.get("dueDate"), lastDueDate), cb.greaterThan(root.<Long>get("id"), lastId)),
+                cb.isNull(root.get("dueDate")));
+    }
+
+    // Diffusé aux abonnés SSE du projet seulement si la transaction est commitée
+    private void publish(Long projectId, TaskChangedEvent.Type type, List<TaskDTO> tasks) {
+        eventPublisher.publishEvent(new TaskChangedEvent(projectId, type, tasks));
+    }
+
+    private TaskDTO deletedDTO(Task task) {
+        return TaskDTO.builder().id(task.getId()).projectId(task.getProject().getId()).build();
+    }
+
+    private int completedWeight(TaskStatus status) {
+        return status == TaskStatus.COMPLETED ? 1 : 0;
     }
 
     private TaskDTO mapToDTO(Task task) {
@@ -128,6 +502,7 @@ public class TaskServiceImpl implements TaskService {
                 .dueDate(task.getDueDate())
                 .status(task.getStatus())
                 .projectId(task.getProject().getId())
+                .version(task.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.elarbiallam.task_tracker_backend.service.impl;
 
+import com.elarbiallam.task_tracker_backend.config.CacheConfig;
 import com.elarbiallam.task_tracker_backend.dto.user.UserDTO;
 import com.elarbiallam.task_tracker_backend.entity.User;
 import com.elarbiallam.task_tracker_backend.repository.UserRepository;
 import com.elarbiallam.task_tracker_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,16 +22,22 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public UserDTO getCurrentUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, key = "#userId")
+    public UserDTO getCurrentUserProfile(Long userId) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         return mapToDTO(user);
     }
 
+    // Le profil à jour remplace l'entrée par id, l'entrée par email est invalidée
     @Override
     @Transactional
-    public UserDTO updateUserProfile(String email, UserDTO userDTO) {
-        User user = userRepository.findByEmail(email)
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.USERS_BY_ID, key = "#userId"),
+            evict = @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#result.email")
+    )
+    public UserDTO updateUserProfile(Long userId, UserDTO userDTO) {
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         if (userDTO.getFirstName() != null) {
@@ -0,0 +1,27 @@
+-- Schéma initial, tel que généré auparavant par ddl-auto: update.
+-- Sur une base existante, Flyway la marque comme version 1 (baseline-on-migrate) sans l'exécuter.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    due_date    DATE,
+    status      VARCHAR(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED')),
+    project_id  BIGINT       NOT NULL REFERENCES projects (id)
+);
@@ -0,0 +1,12 @@
+-- Colonnes ajoutées par User.tokenVersion et Project.totalTasks / completedTasks.
+-- IF NOT EXISTS : elles ont pu être créées par ddl-auto: update avant le passage à Flyway.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS total_tasks INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS completed_tasks INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill des compteurs (ProjectStatsService les répare aussi au démarrage)
+UPDATE projects p SET
+    total_tasks     = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id),
+    completed_tasks = (SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id AND t.status = 'COMPLETED');
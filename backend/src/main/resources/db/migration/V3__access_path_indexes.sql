@@ -0,0 +1,14 @@
+-- Index alignés sur les requêtes de TaskRepository / ProjectRepository.
+-- L'id termine chaque index : il sert de départage au tri et à la pagination keyset.
+
+-- findByProjectId + tri dueDate (mode offset et curseur), COUNT(*) par projet
+CREATE INDEX IF NOT EXISTS idx_tasks_project_due_date ON tasks (project_id, due_date, id);
+
+-- findByProjectIdAndStatus + tri dueDate, recalcul des tâches COMPLETED par projet
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_due_date ON tasks (project_id, status, due_date, id);
+
+-- findByProjectId + tri title (sortTitle=sort)
+CREATE INDEX IF NOT EXISTS idx_tasks_project_title ON tasks (project_id, title, id);
+
+-- findByUserId / findSummariesByUserId(Before) + tri id décroissant
+CREATE INDEX IF NOT EXISTS idx_projects_user_id ON projects (user_id, id);
@@ -0,0 +1,6 @@
+-- Task.id passe de IDENTITY à une séquence (allocationSize = 50) pour permettre le batch JDBC des INSERT.
+-- La séquence démarre au-delà du max(id) existant pour ne pas chevaucher les ids déjà attribués.
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 50, false);
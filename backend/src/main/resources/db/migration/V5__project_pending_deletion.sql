@@ -0,0 +1,2 @@
+-- Projets en cours de purge asynchrone : masqués par @SQLRestriction sur l'entité Project
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS pending_deletion BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,7 @@
+-- Versions pour le verrou optimiste (@Version) et les ETags des endpoints de lecture.
+-- tasks_revision : incrémenté à chaque écriture sur les tâches d'un projet (ETag de la liste des tâches).
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS tasks_revision BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
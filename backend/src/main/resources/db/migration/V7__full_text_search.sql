@@ -0,0 +1,20 @@
+-- Recherche plein texte sur les tâches et les projets (titre pondéré A, description B).
+-- Colonnes générées : PostgreSQL les recalcule à chaque INSERT / UPDATE, l'index reste à jour sans trigger.
+-- Configuration 'simple' : contenus mêlant français et anglais, pas de racinisation propre à une langue.
+-- Ajout d'une colonne STORED = réécriture de la table : à planifier hors pointe sur une grosse base.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_projects_search_vector ON projects USING GIN (search_vector);
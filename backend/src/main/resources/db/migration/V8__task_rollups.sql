@@ -0,0 +1,20 @@
+-- Agrégat des tâches par (projet, statut, échéance), tenu à jour par TaskServiceImpl à chaque écriture.
+-- Le résumé du dashboard se calcule sur ces lignes : leur nombre dépend des projets et des échéances
+-- distinctes, pas du nombre de tâches. ProjectStatsService répare les écarts au démarrage.
+-- NULLS NOT DISTINCT (PostgreSQL 15+) : une seule ligne par projet et statut pour les tâches sans échéance.
+
+CREATE TABLE IF NOT EXISTS task_rollups (
+    project_id BIGINT       NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    status     VARCHAR(255) NOT NULL,
+    due_date   DATE,
+    task_count INTEGER      NOT NULL,
+    CONSTRAINT uq_task_rollups UNIQUE NULLS NOT DISTINCT (project_id, status, due_date)
+);
+
+-- Backfill
+INSERT INTO task_rollups (project_id, status, due_date, task_count)
+SELECT project_id, status, due_date, COUNT(*)
+FROM tasks
+WHERE status IS NOT NULL
+GROUP BY project_id, status, due_date
+ON CONFLICT (project_id, status, due_date) DO NOTHING;
@@ -0,0 +1,86 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Aides communes aux tests d'API (MockMvc + PostgreSQL) : chaque classe de test déclare son propre conteneur
+ * (@Container @ServiceConnection) et ses propriétés @SpringBootTest.
+ */
+abstract class ApiTestSupport {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    // Token de l'utilisateur courant, ajouté à chaque requête
+    protected String token;
+
+    // Inscrit un nouvel utilisateur et en fait l'utilisateur courant
+    protected String register(String name) throws Exception {
+        token = null;
+        String email = name + "-" + UUID.randomUUID() + "@example.com";
+        token = postJson("/api/auth/register", Map.of(
+                "email", email, "password", "password123", "firstName", name, "lastName", "Test"))
+                .get("token").asText();
+        return token;
+    }
+
+    protected long createProject(String title) throws Exception {
+        return postJson("/api/projects", Map.of("title", title)).get("id").asLong();
+    }
+
+    // Création en bulk ; renvoie les ids dans l'ordre des éléments
+    protected List<Long> createTasks(long projectId, List<Map<String, String>> tasks) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode result : postJson("/api/tasks/project/" + projectId + "/bulk", tasks)) {
+            ids.add(result.get("taskId").asLong());
+        }
+        return ids;
+    }
+
+    protected JsonNode postJson(String url, Object body) throws Exception {
+        return read(perform(json(post(url), body)));
+    }
+
+    protected JsonNode getJson(MockHttpServletRequestBuilder request) throws Exception {
+        return read(perform(request));
+    }
+
+    protected MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body));
+    }
+
+    // Réponse 2xx attendue
+    protected MvcResult perform(MockHttpServletRequestBuilder request) throws Exception {
+        return send(request).andExpect(status().is2xxSuccessful()).andReturn();
+    }
+
+    // Sans attente sur le statut
+    protected ResultActions send(MockHttpServletRequestBuilder request) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return mockMvc.perform(request);
+    }
+
+    protected JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,235 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Requêtes conditionnelles : If-None-Match (304) sur le projet et les listes, ETags renouvelés par les écritures
+ * de tâches, If-Match périmé (412, y compris la version par élément du PATCH bulk) et modification concurrente
+ * détectée par le verrou optimiste (409).
+ */
+@SpringBootTest(properties = "application.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ConditionalRequestTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long projectId;
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void createProjectWithTasks() throws Exception {
+        register("etag");
+        projectId = createProject("ETags");
+        taskIds = createTasks(projectId, List.of(
+                Map.of("title", "First"), Map.of("title", "Second"), Map.of("title", "Third")));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        for (String url : List.of("/api/projects/" + projectId, "/api/projects", "/api/tasks/project/" + projectId)) {
+            String etag = eTag(url);
+            send(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etag));
+            send(get(url).header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")).andExpect(status().isOk());
+        }
+        // Mode curseur : même ETag que la liste
+        send(get("/api/tasks/project/" + projectId).param("cursor", "")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag("/api/tasks/project/" + projectId)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void taskWritesRenewListAndProjectETags() throws Exception {
+        String taskList = "/api/tasks/project/" + projectId;
+
+        assertRenewed(() -> perform(json(post(taskList), Map.of("title", "Fourth"))), true);
+        // Renommage : compteurs inchangés, donc ETag du projet inchangé ; la liste des tâches change
+        assertRenewed(() -> perform(json(patch("/api/tasks/" + taskIds.get(0)), Map.of("title", "Renamed"))), false);
+        assertRenewed(() -> perform(json(patch("/api/tasks/bulk"), List.of(
+                Map.of("id", taskIds.get(1), "status", "COMPLETED"),
+                Map.of("id", taskIds.get(2), "status", "IN_PROGRESS")))), true);
+        assertRenewed(() -> perform(json(patch("/api/tasks/bulk"), List.of(
+                Map.of("id", taskIds.get(2), "title", "Bulk renamed")))), false);
+        assertRenewed(() -> perform(json(delete("/api/tasks/bulk"), List.of(taskIds.get(2)))), true);
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        long taskId = taskIds.get(0);
+        String version = "\"" + getTask(taskId).get("version").asLong() + "\"";
+        perform(json(patch("/api/tasks/" + taskId), Map.of("title", "Changed")).header(HttpHeaders.IF_MATCH, version));
+
+        send(json(patch("/api/tasks/" + taskId), Map.of("title", "Lost update")).header(HttpHeaders.IF_MATCH, version))
+                .andExpect(status().isPreconditionFailed());
+        send(delete("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, version))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(getTask(taskId).get("title").asText()).isEqualTo("Changed");
+
+        MvcResult renamed = perform(json(put("/api/projects/" + projectId), Map.of("title", "Renamed"))
+                .header(HttpHeaders.IF_MATCH, eTag("/api/projects/" + projectId)));
+        String current = renamed.getResponse().getHeader(HttpHeaders.ETAG);
+        send(json(put("/api/projects/" + projectId), Map.of("title", "Stale")).header(HttpHeaders.IF_MATCH, "\"0-0-0\""))
+                .andExpect(status().isPreconditionFailed());
+        send(delete("/api/projects/" + projectId).header(HttpHeaders.IF_MATCH, "W/" + current))
+                .andExpect(status().isPreconditionFailed()); // comparaison forte : un ETag faible ne correspond jamais
+        send(delete("/api/projects/" + projectId).header(HttpHeaders.IF_MATCH, current))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void staleVersionInBulkUpdateIsRejectedPerItem() throws Exception {
+        long staleId = taskIds.get(0);
+        long freshId = taskIds.get(1);
+        long staleVersion = getTask(staleId).get("version").asLong();
+        perform(json(patch("/api/tasks/" + staleId), Map.of("title", "Changed")));
+
+        JsonNode results = getJson(json(patch("/api/tasks/bulk"), List.of(
+                Map.of("id", staleId, "version", staleVersion, "title", "Lost update"),
+                Map.of("id", freshId, "version", getTask(freshId).get("version").asLong(), "title", "Fresh"),
+                Map.of("id", taskIds.get(2), "title", "No version"))));
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(412);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(getTask(staleId).get("title").asText()).isEqualTo("Changed");
+        assertThat(getTask(freshId).get("title").asText()).isEqualTo("Fresh");
+    }
+
+    // Deux mises à jour lisent la même version : la seconde, bloquée sur le verrou de ligne, échoue au commit de la première
+    @Test
+    void concurrentUpdateReturnsConflict() throws Exception {
+        long taskId = taskIds.get(0);
+        long userId = getJson(get("/api/users/me")).get("id").asLong();
+        CountDownLatch firstUpdated = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                taskService.updateTask(taskId, TaskDTO.builder().status(TaskStatus.IN_PROGRESS).build(), userId, null);
+                firstUpdated.countDown();
+                awaitQuietly(commitFirst);
+            }));
+            assertThat(firstUpdated.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<MvcResult> second = executor.submit(() ->
+                    send(json(patch("/api/tasks/" + taskId), Map.of("status", "COMPLETED"))).andReturn());
+            awaitLockWait();
+            commitFirst.countDown();
+
+            first.get(10, TimeUnit.SECONDS);
+            assertThat(second.get(10, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(409);
+            assertThat(getTask(taskId).get("status").asText()).isEqualTo("IN_PROGRESS");
+        } finally {
+            commitFirst.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    // --- Private Methods ---
+
+    // Après l'écriture : l'ancien ETag de la liste des tâches ne donne plus 304 ; ETag du projet et de la liste
+    // des projets renouvelés si les compteurs changent (la liste des projets suit aussi tasksRevision)
+    private void assertRenewed(ThrowingRunnable write, boolean countersChange) throws Exception {
+        String taskList = "/api/tasks/project/" + projectId;
+        String project = "/api/projects/" + projectId;
+        String taskListETag = eTag(taskList);
+        String projectETag = eTag(project);
+        String projectListETag = eTag("/api/projects");
+
+        write.run();
+
+        assertThat(eTag(taskList)).isNotEqualTo(taskListETag);
+        send(get(taskList).header(HttpHeaders.IF_NONE_MATCH, taskListETag)).andExpect(status().isOk());
+        assertThat(eTag("/api/projects")).isNotEqualTo(projectListETag);
+        if (countersChange) {
+            assertThat(eTag(project)).isNotEqualTo(projectETag);
+        } else {
+            assertThat(eTag(project)).isEqualTo(projectETag);
+        }
+    }
+
+    private String eTag(String url) throws Exception {
+        String etag = perform(get(url)).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private JsonNode getTask(long taskId) throws Exception {
+        for (JsonNode task : getJson(get("/api/tasks/project/" + projectId)).get("content")) {
+            if (task.get("id").asLong() == taskId) {
+                return task;
+            }
+        }
+        throw new AssertionError("Task " + taskId + " not found");
+    }
+
+    // Une session PostgreSQL attend un verrou : la seconde mise à jour est bloquée derrière la première
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND datname = current_database()",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Second update never waited for the first one");
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
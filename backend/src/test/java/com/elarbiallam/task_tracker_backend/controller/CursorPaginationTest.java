@@ -0,0 +1,164 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pagination par curseur (keyset) : parcours complet sans doublon ni trou, dans l'ordre du tri,
+ * y compris les tâches sans échéance (NULL en fin de tri) et le tri par titre ; tailles invalides refusées.
+ */
+@SpringBootTest(properties = {
+        "application.rate-limit.enabled=false",
+        "application.tasks.max-page-size=20",
+        "application.projects.max-page-size=20"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class CursorPaginationTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private long projectId;
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void createTasks() throws Exception {
+        register("cursor");
+        projectId = createProject("Cursor");
+
+        // Échéances en doublon (départage par id), une tâche sur trois sans échéance, titres dans le désordre
+        List<Map<String, String>> tasks = new ArrayList<>();
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 25; i++) {
+            Map<String, String> task = new HashMap<>();
+            task.put("title", "Task " + (char) ('a' + (i * 7) % 25));
+            if (i % 3 != 0) {
+                task.put("dueDate", start.plusDays(i % 4).toString());
+            }
+            task.put("status", i % 2 == 0 ? "PENDING" : "COMPLETED");
+            tasks.add(task);
+        }
+        taskIds = createTasks(projectId, tasks);
+    }
+
+    @Test
+    void dueDateCursorWalksEveryTaskOnceWithNullDueDatesLast() throws Exception {
+        List<JsonNode> walked = walk("/api/tasks/project/" + projectId, Map.of(), 4);
+
+        assertThat(walked).extracting(task -> task.get("id").asLong()).containsExactlyInAnyOrderElementsOf(taskIds);
+        for (int i = 1; i < walked.size(); i++) {
+            assertThat(compareByDueDate(walked.get(i - 1), walked.get(i))).isNegative();
+        }
+        // Plusieurs pages ne contiennent que des tâches sans échéance : curseur "d|id|" exercé
+        assertThat(walked.subList(walked.size() - 9, walked.size()))
+                .allSatisfy(task -> assertThat(task.hasNonNull("dueDate")).isFalse());
+    }
+
+    @Test
+    void titleCursorFollowsTheOffsetOrder() throws Exception {
+        List<JsonNode> walked = walk("/api/tasks/project/" + projectId, Map.of("sortTitle", "sort"), 6);
+
+        // Titres uniques : l'ordre du mode offset (collation PostgreSQL) est la référence
+        JsonNode offsetPage = getJson(get("/api/tasks/project/" + projectId)
+                .param("sortTitle", "sort").param("size", "25"));
+        List<String> expected = new ArrayList<>();
+        offsetPage.get("content").forEach(task -> expected.add(task.get("title").asText()));
+
+        assertThat(walked).extracting(task -> task.get("title").asText()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void statusFilterAppliesToEveryPage() throws Exception {
+        List<JsonNode> walked = walk("/api/tasks/project/" + projectId, Map.of("status", "COMPLETED"), 5);
+
+        assertThat(walked).hasSize(12).allSatisfy(task -> assertThat(task.get("status").asText()).isEqualTo("COMPLETED"));
+    }
+
+    @Test
+    void projectCursorWalksNewestFirst() throws Exception {
+        List<Long> projectIds = new ArrayList<>(List.of(projectId));
+        for (int i = 0; i < 4; i++) {
+            projectIds.add(0, createProject("Project " + i));
+        }
+
+        List<JsonNode> walked = walk("/api/projects", Map.of(), 2);
+        assertThat(walked).extracting(project -> project.get("id").asLong()).containsExactlyElementsOf(projectIds);
+    }
+
+    @Test
+    void invalidSizesAreRejected() throws Exception {
+        for (String size : List.of("0", "-1", "21")) {
+            send(get("/api/tasks/project/" + projectId).param("cursor", "").param("size", size))
+                    .andExpect(status().isBadRequest());
+            send(get("/api/projects").param("cursor", "").param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+        send(get("/api/tasks/project/" + projectId).param("cursor", "").param("size", "20"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() throws Exception {
+        String cursor = getJson(get("/api/tasks/project/" + projectId).param("cursor", "").param("size", "5"))
+                .get("nextCursor").asText();
+
+        send(get("/api/tasks/project/" + projectId).param("cursor", cursor).param("sortTitle", "sort"))
+                .andExpect(status().isBadRequest());
+        send(get("/api/tasks/project/" + projectId).param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Private Methods ---
+
+    // Suit nextCursor jusqu'à la dernière page ; chaque page pleine sauf la dernière
+    private List<JsonNode> walk(String url, Map<String, String> params, int size) throws Exception {
+        List<JsonNode> items = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            MockHttpServletRequestBuilder request = get(url).param("cursor", cursor).param("size", String.valueOf(size));
+            params.forEach(request::param);
+            JsonNode page = getJson(request);
+            page.get("content").forEach(items::add);
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+            if (cursor != null) {
+                assertThat(page.get("content")).hasSize(size);
+            }
+        }
+        return items;
+    }
+
+    private int compareByDueDate(JsonNode a, JsonNode b) {
+        boolean aNull = !a.hasNonNull("dueDate");
+        boolean bNull = !b.hasNonNull("dueDate");
+        if (aNull != bNull) {
+            return aNull ? 1 : -1;
+        }
+        if (!aNull) {
+            int byDate = a.get("dueDate").asText().compareTo(b.get("dueDate").asText());
+            if (byDate != 0) {
+                return byDate;
+            }
+        }
+        return Long.compare(a.get("id").asLong(), b.get("id").asLong());
+    }
+}
@@ -0,0 +1,159 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Le résumé du dashboard est lu sur l'agrégat task_rollups : il doit suivre chaque chemin d'écriture
+ * des tâches (unitaire, bulk, import) et ignorer les projets en cours de purge.
+ */
+@SpringBootTest(properties = "application.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class DashboardSummaryTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private long projectId;
+    private int taskIndex;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        register("dashboard");
+        projectId = createProject("Dashboard");
+    }
+
+    @Test
+    void summaryFollowsSingleTaskWrites() throws Exception {
+        List<Long> ids = createTasks(projectId, List.of(
+                task("PENDING", null), task("PENDING", null), task("PENDING", null),
+                task("PENDING", null), task("COMPLETED", null), task("COMPLETED", null)));
+
+        perform(json(patch("/api/tasks/" + ids.get(0)),
+                Map.of("status", "IN_PROGRESS", "dueDate", today.minusDays(1).toString())));
+        perform(delete("/api/tasks/" + ids.get(1)));
+        perform(json(post("/api/tasks/project/" + projectId), Map.of("title", "One more", "status", "COMPLETED")));
+
+        JsonNode summary = summary();
+        assertThat(summary.get("totalTasks").asLong()).isEqualTo(6);
+        assertCounts(summary, 2, 1, 3);
+        assertThat(summary.get("overdueTasks").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void summaryFollowsBulkUpdateAndDelete() throws Exception {
+        List<Long> ids = createTasks(projectId, List.of(
+                task("PENDING", null), task("PENDING", null), task("PENDING", null),
+                task("PENDING", today.minusDays(3)), task("PENDING", null)));
+
+        perform(json(patch("/api/tasks/bulk"), List.of(
+                Map.of("id", ids.get(0), "status", "COMPLETED"),
+                Map.of("id", ids.get(1), "status", "IN_PROGRESS"),
+                Map.of("id", ids.get(2), "dueDate", today.toString()))));
+        perform(json(delete("/api/tasks/bulk"), List.of(ids.get(3), ids.get(4))));
+
+        JsonNode summary = summary();
+        assertThat(summary.get("totalTasks").asLong()).isEqualTo(3);
+        assertCounts(summary, 1, 1, 1);
+        assertThat(summary.get("overdueTasks").asLong()).isZero(); // la tâche en retard a été supprimée
+        assertThat(summary.get("dueThisWeekTasks").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void summaryFollowsImport() throws Exception {
+        String ndjson = "{\"title\":\"Due today\",\"dueDate\":\"" + today + "\"}\n"
+                + "{\"title\":\"Done today\",\"status\":\"COMPLETED\",\"dueDate\":\"" + today + "\"}\n"
+                + "{\"title\":\"Late\",\"status\":\"IN_PROGRESS\",\"dueDate\":\"" + today.minusDays(1) + "\"}\n";
+        perform(post("/api/tasks/project/" + projectId + "/import").contentType("application/x-ndjson").content(ndjson));
+
+        JsonNode summary = summary();
+        assertThat(summary.get("totalTasks").asLong()).isEqualTo(3);
+        assertCounts(summary, 1, 1, 1);
+        assertThat(summary.get("overdueTasks").asLong()).isEqualTo(1);
+        assertThat(summary.get("dueThisWeekTasks").asLong()).isEqualTo(1);
+    }
+
+    // Semaine = aujourd'hui jusqu'au dimanche inclus (weekEnd renvoyé par le résumé), tâches terminées exclues
+    @Test
+    void dueThisWeekCountsOpenTasksUpToSunday() throws Exception {
+        LocalDate weekEnd = LocalDate.parse(summary().get("weekEnd").asText());
+        createTasks(projectId, List.of(
+                task("PENDING", today),
+                task("IN_PROGRESS", weekEnd),
+                task("PENDING", weekEnd.plusDays(1)),
+                task("COMPLETED", today),
+                task("PENDING", today.minusDays(1)),
+                task("PENDING", null)));
+
+        JsonNode summary = summary();
+        assertThat(summary.get("dueThisWeekTasks").asLong()).isEqualTo(2);
+        assertThat(summary.get("overdueTasks").asLong()).isEqualTo(1);
+        assertThat(summary.get("totalTasks").asLong()).isEqualTo(6);
+    }
+
+    @Test
+    void projectsPendingPurgeAndOtherUsersAreExcluded() throws Exception {
+        createTasks(projectId, List.of(task("PENDING", today), task("COMPLETED", null)));
+        long purgedProjectId = createProject("Being purged");
+        createTasks(purgedProjectId, List.of(task("PENDING", today), task("PENDING", today.minusDays(1))));
+        // État intermédiaire d'une suppression asynchrone : projet marqué, tâches pas encore supprimées
+        jdbcTemplate.update("UPDATE projects SET pending_deletion = TRUE WHERE id = ?", purgedProjectId);
+
+        String owner = token;
+        register("other");
+        createTasks(createProject("Other"), List.of(task("PENDING", today)));
+        token = owner;
+
+        JsonNode summary = summary();
+        assertThat(summary.get("totalTasks").asLong()).isEqualTo(2);
+        assertCounts(summary, 1, 0, 1);
+        assertThat(summary.get("overdueTasks").asLong()).isZero();
+        assertThat(summary.get("dueThisWeekTasks").asLong()).isEqualTo(1);
+    }
+
+    // --- Private Methods ---
+
+    private JsonNode summary() throws Exception {
+        return getJson(get("/api/dashboard/summary"));
+    }
+
+    private void assertCounts(JsonNode summary, long pending, long inProgress, long completed) {
+        JsonNode byStatus = summary.get("tasksByStatus");
+        assertThat(byStatus.get("PENDING").asLong()).isEqualTo(pending);
+        assertThat(byStatus.get("IN_PROGRESS").asLong()).isEqualTo(inProgress);
+        assertThat(byStatus.get("COMPLETED").asLong()).isEqualTo(completed);
+    }
+
+    private Map<String, String> task(String status, LocalDate dueDate) {
+        Map<String, String> task = new HashMap<>();
+        task.put("title", "Task " + taskIndex++);
+        task.put("status", status);
+        if (dueDate != null) {
+            task.put("dueDate", dueDate.toString());
+        }
+        return task;
+    }
+}
@@ -0,0 +1,134 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recherche plein texte : périmètre (utilisateur courant, projets non purgés), classement,
+ * pagination par position et plafond max-results.
+ */
+@SpringBootTest(properties = {
+        "application.rate-limit.enabled=false",
+        "application.search.max-page-size=3",
+        "application.search.max-results=5"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class SearchTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long projectId;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        register("search");
+        projectId = createProject("Search");
+    }
+
+    @Test
+    void resultsAreLimitedToTheCurrentUser() throws Exception {
+        createTasks(projectId, List.of(Map.of("title", "tenant mine")));
+        String owner = token;
+        register("intruder");
+        createTasks(createProject("tenant other project"), List.of(Map.of("title", "tenant theirs")));
+        token = owner;
+
+        JsonNode results = search("tenant").get("content");
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).get("title").asText()).isEqualTo("tenant mine");
+        assertThat(results.get(0).get("projectId").asLong()).isEqualTo(projectId);
+    }
+
+    @Test
+    void projectsPendingDeletionAreExcluded() throws Exception {
+        long purgedProjectId = createProject("purged project");
+        createTasks(purgedProjectId, List.of(Map.of("title", "purged task")));
+        createTasks(projectId, List.of(Map.of("title", "purged but kept")));
+        jdbcTemplate.update("UPDATE projects SET pending_deletion = TRUE WHERE id = ?", purgedProjectId);
+
+        JsonNode results = search("purged").get("content");
+        assertThat(results).extracting(hit -> hit.get("title").asText()).containsExactly("purged but kept");
+    }
+
+    // Titre (poids A) avant description (poids B) ; à pertinence égale, tâches avant projets puis par id
+    @Test
+    void resultsAreRankedByRelevance() throws Exception {
+        List<Long> ids = createTasks(projectId, List.of(
+                Map.of("title", "Other", "description", "mentions ranked here"),
+                Map.of("title", "ranked first"),
+                Map.of("title", "unrelated")));
+        long rankedProjectId = createProject("ranked");
+
+        JsonNode results = search("ranked").get("content");
+        assertThat(results).extracting(hit -> hit.get("type").asText() + ":" + hit.get("id").asLong())
+                .containsExactly("TASK:" + ids.get(1), "PROJECT:" + rankedProjectId, "TASK:" + ids.get(0));
+        assertThat(results.get(0).get("rank").floatValue()).isGreaterThan(results.get(2).get("rank").floatValue());
+    }
+
+    // 8 correspondances, pages de 3, plafond à 5 : 3 + 2 résultats, puis plus de curseur
+    @Test
+    void cursorPagesStopAtMaxResults() throws Exception {
+        List<Map<String, String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(Map.of("title", "paged " + i));
+        }
+        createTasks(projectId, tasks);
+
+        JsonNode first = search("paged", "", 3);
+        assertThat(first.get("content")).hasSize(3);
+        assertThat(first.hasNonNull("nextCursor")).isTrue();
+
+        JsonNode second = search("paged", first.get("nextCursor").asText(), 3);
+        assertThat(second.get("content")).hasSize(2);
+        assertThat(second.hasNonNull("nextCursor")).isFalse();
+
+        Set<Long> ids = new HashSet<>();
+        first.get("content").forEach(hit -> ids.add(hit.get("id").asLong()));
+        second.get("content").forEach(hit -> ids.add(hit.get("id").asLong()));
+        assertThat(ids).hasSize(5);
+    }
+
+    @Test
+    void invalidRequestsAreRejected() throws Exception {
+        send(get("/api/search").param("q", "x").param("size", "4")).andExpect(status().isBadRequest());
+        send(get("/api/search").param("q", "x").param("size", "0")).andExpect(status().isBadRequest());
+        send(get("/api/search").param("q", "   ").param("size", "3")).andExpect(status().isBadRequest());
+        send(get("/api/search").param("q", "x").param("size", "3").param("cursor", "bad!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Private Methods ---
+
+    private JsonNode search(String query) throws Exception {
+        return search(query, "", 3);
+    }
+
+    private JsonNode search(String query, String cursor, int size) throws Exception {
+        return getJson(get("/api/search").param("q", query).param("cursor", cursor).param("size", String.valueOf(size)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Exécute les endpoints principaux avec le contrôle des budgets SQL en mode strict :
+ * une requête qui dépasse son @SqlBudget (ex. N+1 réintroduit dans un mapToDTO) lève
+ * SqlBudgetExceededException et fait échouer le test.
+ */
+@SpringBootTest(properties = {"application.sql.budget.fail-on-exceed=true", "application.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class SqlBudgetTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private long projectId;
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void createProjectWithTasks() throws Exception {
+        register("budget");
+        projectId = createProject("Budget");
+
+        // Assez de tâches pour qu'un N+1 dépasse nettement les budgets
+        List<Map<String, String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tasks.add(Map.of("title", "Task " + i, "status", i % 3 == 0 ? "COMPLETED" : "PENDING"));
+        }
+        taskIds = createTasks(projectId, tasks);
+    }
+
+    @Test
+    void projectEndpointsStayWithinBudget() throws Exception {
+        perform(get("/api/projects"));
+        perform(get("/api/projects").param("cursor", ""));
+        perform(get("/api/projects/" + projectId));
+        perform(json(put("/api/projects/" + projectId), Map.of("title", "Renamed")));
+        perform(delete("/api/projects/" + projectId));
+    }
+
+    @Test
+    void taskEndpointsStayWithinBudget() throws Exception {
+        perform(get("/api/tasks/project/" + projectId));
+        perform(get("/api/tasks/project/" + projectId).param("status", "PENDING").param("sortTitle", "sort"));
+        perform(get("/api/tasks/project/" + projectId).param("cursor", ""));
+        perform(get("/api/tasks/project/" + projectId + "/export"));
+        perform(get("/api/tasks/project/" + projectId + "/export").param("status", "PENDING").param("format", "CSV"));
+        perform(json(post("/api/tasks/project/" + projectId), Map.of("title", "One more")));
+        perform(json(patch("/api/tasks/" + taskIds.get(0)), Map.of("status", "IN_PROGRESS")));
+        perform(json(patch("/api/tasks/bulk"), List.of(
+                Map.of("id", taskIds.get(1), "status", "COMPLETED"),
+                Map.of("id", taskIds.get(2), "status", "COMPLETED"))));
+        perform(delete("/api/tasks/" + taskIds.get(3)));
+        perform(json(delete("/api/tasks/bulk"), taskIds.subList(4, 10)));
+    }
+
+    @Test
+    void searchStaysWithinBudget() throws Exception {
+        perform(get("/api/search").param("q", "task"));
+        perform(get("/api/search").param("q", "budget").param("size", "5"));
+    }
+
+    @Test
+    void dashboardStaysWithinBudget() throws Exception {
+        perform(get("/api/dashboard/summary"));
+    }
+
+    @Test
+    void userEndpointsStayWithinBudget() throws Exception {
+        perform(get("/api/users/me"));
+        perform(json(patch("/api/users/me"), Map.of("firstName", "Renamed")));
+    }
+}
@@ -0,0 +1,181 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.elarbiallam.task_tracker_backend.dto.task.TaskDTO;
+import com.elarbiallam.task_tracker_backend.event.TaskChangedEvent;
+import com.elarbiallam.task_tracker_backend.service.TaskEventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Flux SSE des tâches avec MockMvc en mode asynchrone : le contenu de la réponse est relu
+ * au fil des envois du pool dédié (un seul thread, file de 2 messages par abonné).
+ */
+@SpringBootTest(properties = {
+        "application.rate-limit.enabled=false",
+        "application.tasks.events.send-threads=1",
+        "application.tasks.events.queue-size=2"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TaskEventStreamTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TaskEventService taskEventService;
+
+    private long projectId;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        register("events");
+        projectId = createProject("Events");
+    }
+
+    @Test
+    void subscriberReceivesCommittedTaskChanges() throws Exception {
+        MvcResult stream = subscribe();
+        awaitContent(stream, ":subscribed");
+
+        perform(json(post("/api/tasks/project/" + projectId), Map.of("title", "Streamed")));
+
+        String content = awaitContent(stream, "event:task-created");
+        assertThat(content).contains("\"title\":\"Streamed\"");
+    }
+
+    @Test
+    void rolledBackChangeIsNotSent() throws Exception {
+        MvcResult stream = subscribe();
+        awaitContent(stream, ":subscribed");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            publish("Rolled back");
+            status.setRollbackOnly();
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> publish("Committed"));
+
+        // Les envois d'un abonné sont ordonnés : le second événement arrivé, le premier ne viendra plus
+        String content = awaitContent(stream, "Committed");
+        assertThat(content).doesNotContain("Rolled back");
+    }
+
+    @Test
+    void timeoutCompletesTheStreamWithoutAnErrorBody() throws Exception {
+        MvcResult stream = subscribe();
+        awaitContent(stream, ":subscribed");
+        double subscribers = subscriberGauge();
+
+        // Délai du conteneur simulé : mêmes listeners que ceux déclenchés par Tomcat
+        MockAsyncContext asyncContext = (MockAsyncContext) stream.getRequest().getAsyncContext();
+        for (AsyncListener listener : List.copyOf(asyncContext.getListeners())) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("\"status\"");
+        assertThat(subscriberGauge()).isEqualTo(subscribers - 1);
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWhenItsQueueOverflows() throws Exception {
+        // Unique thread d'envoi occupé : les messages s'accumulent dans la file (2 places) de l'abonné
+        ThreadPoolExecutor sender = (ThreadPoolExecutor) ReflectionTestUtils.getField(
+                AopTestUtils.getTargetObject(taskEventService), "sender");
+        CountDownLatch release = new CountDownLatch(1);
+        sender.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        double dropped = meterRegistry.get("tasks.events.dropped").counter().count();
+        double subscribers = subscriberGauge();
+        MvcResult stream = subscribe(); // ":subscribed" en file
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.executeWithoutResult(status -> publish("Queued"));
+            transaction.executeWithoutResult(status -> publish("Overflow"));
+
+            assertThat(meterRegistry.get("tasks.events.dropped").counter().count()).isEqualTo(dropped + 1);
+            assertThat(subscriberGauge()).isEqualTo(subscribers);
+        } finally {
+            release.countDown();
+        }
+
+        // Flux terminé par le pool d'envoi, sans les messages abandonnés
+        stream.getAsyncResult(5000);
+        mockMvc.perform(asyncDispatch(stream)).andExpect(status().isOk());
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("Queued").doesNotContain("Overflow");
+    }
+
+    // --- Private Methods ---
+
+    private MvcResult subscribe() throws Exception {
+        return send(get("/api/tasks/project/" + projectId + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private void publish(String title) {
+        TaskDTO task = TaskDTO.builder().id(1L).projectId(projectId).title(title).build();
+        eventPublisher.publishEvent(new TaskChangedEvent(projectId, TaskChangedEvent.Type.UPDATED, List.of(task)));
+    }
+
+    // Les envois se font sur le pool d'envoi : attente bornée de leur arrivée dans la réponse
+    private String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+
+    private double subscriberGauge() {
+        return meterRegistry.get("tasks.events.subscribers").gauge().value();
+    }
+}
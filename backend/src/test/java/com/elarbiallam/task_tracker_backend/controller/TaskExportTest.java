@@ -0,0 +1,110 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.elarbiallam.task_tracker_backend.enums.ExportFormat;
+import com.elarbiallam.task_tracker_backend.service.TaskExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export NDJSON / CSV et limite d'exports simultanés (un seul ici).
+ */
+@SpringBootTest(properties = {
+        "application.rate-limit.enabled=false",
+        "application.tasks.export.max-concurrent=1"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TaskExportTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    private long projectId;
+
+    @BeforeEach
+    void createProjectWithTasks() throws Exception {
+        register("export");
+        projectId = createProject("Export");
+        createTasks(projectId, List.of(
+                Map.of("title", "Plain", "status", "COMPLETED", "dueDate", "2026-01-02"),
+                Map.of("title", "Comma, \"quoted\"", "description", "two\nlines")));
+    }
+
+    @Test
+    void exportsNdjsonAndCsv() throws Exception {
+        String ndjson = perform(get("/api/tasks/project/" + projectId + "/export")).getResponse().getContentAsString();
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("title").asText()).isEqualTo("Plain");
+
+        String csv = perform(get("/api/tasks/project/" + projectId + "/export")
+                .param("format", "CSV").param("status", "PENDING")).getResponse().getContentAsString();
+        assertThat(csv).startsWith("id,title,description,dueDate,status,projectId,version\r\n");
+        assertThat(csv).contains(",\"Comma, \"\"quoted\"\"\",\"two\nlines\",,PENDING,").doesNotContain("Plain");
+    }
+
+    // Export en cours (connexion tenue) : le suivant est refusé sans attendre de connexion, puis de nouveau accepté
+    @Test
+    void concurrentExportsAreCapped() throws Exception {
+        long userId = getJson(get("/api/users/me")).get("id").asLong();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutputStream stalled = new OutputStream() {
+            @Override
+            public void write(int b) {
+                writing.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> running = executor.submit(() -> {
+                taskExportService.exportTasks(projectId, null, ExportFormat.NDJSON, userId, stalled);
+                return null;
+            });
+            assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+
+            send(get("/api/tasks/project/" + projectId + "/export"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+            release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+            perform(get("/api/tasks/project/" + projectId + "/export"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.elarbiallam.task_tracker_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Import NDJSON / CSV de bout en bout, avec des lots de 3 tâches pour exercer les frontières de lot.
+ */
+@SpringBootTest(properties = {
+        "application.rate-limit.enabled=false",
+        "application.tasks.import.chunk-size=3",
+        "application.tasks.import.max-row-length=200"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TaskImportTest extends ApiTestSupport {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private long projectId;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        register("import");
+        projectId = createProject("Import");
+    }
+
+    // Lignes invalides comptées et ignorées ; l'export CSV se réimporte tel quel
+    @Test
+    void importCountsAcceptedAndRejectedRows() throws Exception {
+        String ndjson = "{\"title\":\"Imported 1\",\"status\":\"COMPLETED\"}\n"
+                + "{\"title\":\"\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"title\":\"Imported 2\",\"dueDate\":\"2026-03-01\"}\n";
+        JsonNode result = importBody("NDJSON", "application/x-ndjson", ndjson);
+
+        assertThat(result.get("accepted").asLong()).isEqualTo(2);
+        assertThat(result.get("rejected").asLong()).isEqualTo(2);
+        assertThat(result.get("errors").get(0).get("index").asInt()).isEqualTo(2);
+        assertThat(result.get("errors").get(1).get("index").asInt()).isEqualTo(3);
+
+        String csv = perform(get("/api/tasks/project/" + projectId + "/export").param("format", "CSV"))
+                .getResponse().getContentAsString();
+        result = importBody("CSV", "text/csv", csv);
+
+        assertThat(result.get("accepted").asLong()).isEqualTo(2);
+        assertThat(result.get("rejected").asLong()).isZero();
+        assertThat(taskTitles()).containsExactlyInAnyOrder("Imported 1", "Imported 2", "Imported 1", "Imported 2");
+    }
+
+    @Test
+    void csvFieldsWithQuotesCommasAndNewlines() throws Exception {
+        String csv = "title,description,status\r\n"
+                + "\"Plan, then act\",\"Say \"\"hi\"\"\r\ntwice\",COMPLETED\r\n"
+                + "\r\n"
+                + "Plain,,UNKNOWN\r\n";
+        JsonNode result = importBody("CSV", "text/csv", csv);
+
+        assertThat(result.get("accepted").asLong()).isEqualTo(1);
+        assertThat(result.get("errors").get(0).get("message").asText()).isEqualTo("Invalid status: UNKNOWN");
+
+        JsonNode task = getJson(get("/api/tasks/project/" + projectId)).get("content").get(0);
+        assertThat(task.get("title").asText()).isEqualTo("Plan, then act");
+        assertThat(task.get("description").asText()).isEqualTo("Say \"hi\"\r\ntwice");
+    }
+
+    // chunk-size + 1 lignes : un lot plein puis un lot d'une tâche ; compteurs du projet ajustés pour les deux
+    @Test
+    void rowsAcrossAChunkBoundaryAreAllImported() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            ndjson.append("{\"title\":\"Row ").append(i).append("\",\"status\":\"COMPLETED\"}\n");
+        }
+        JsonNode result = importBody("NDJSON", "application/x-ndjson", ndjson.toString());
+
+        assertThat(result.get("accepted").asLong()).isEqualTo(4);
+        assertThat(taskTitles()).containsExactlyInAnyOrder("Row 0", "Row 1", "Row 2", "Row 3");
+        JsonNode project = getJson(get("/api/projects/" + projectId));
+        assertThat(project.get("totalTasks").asInt()).isEqualTo(4);
+        assertThat(project.get("completedTasks").asInt()).isEqualTo(4);
+    }
+
+    // Ligne trop longue : 400, les lots déjà commités restent en place et le message le dit
+    @Test
+    void rowOverTheLengthLimitStopsTheImportAfterCommittedChunks() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 4; i++) {
+            ndjson.append("{\"title\":\"Row ").append(i).append("\"}\n");
+        }
+        ndjson.append("{\"title\":\"").append("x".repeat(300)).append("\"}\n");
+
+        send(post("/api/tasks/project/" + projectId + "/import")
+                .contentType("application/x-ndjson").content(ndjson.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Row 5: Row is longer than 200 characters (3 tasks imported before it)"));
+
+        assertThat(taskTitles()).containsExactlyInAnyOrder("Row 0", "Row 1", "Row 2");
+    }
+
+    @Test
+    void csvWithoutTitleColumnIsRejected() throws Exception {
+        send(post("/api/tasks/project/" + projectId + "/import").param("format", "CSV")
+                .contentType("text/csv").content("name,status\nA,PENDING\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CSV header must contain a title column"));
+    }
+
+    // --- Private Methods ---
+
+    private JsonNode importBody(String format, String contentType, String body) throws Exception {
+        return read(perform(post("/api/tasks/project/" + projectId + "/import")
+                .param("format", format).contentType(contentType).content(body)));
+    }
+
+    private List<String> taskTitles() throws Exception {
+        List<String> titles = new ArrayList<>();
+        getJson(get("/api/tasks/project/" + projectId).param("size", "100"))
+                .get("content").forEach(task -> titles.add(task.get("title").asText()));
+        return titles;
+    }
+}
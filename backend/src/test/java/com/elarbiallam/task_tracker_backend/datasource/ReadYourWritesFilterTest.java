@@ -0,0 +1,129 @@
+package com.elarbiallam.task_tracker_backend.datasource;
+
+import com.elarbiallam.task_tracker_backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Le filtre lui-même, avec une horloge contrôlée : cible de lecture vue par la chaîne (donc par le routage)
+ * pour les écritures, les lectures dans et hors de la fenêtre, et les écritures en échec.
+ */
+class ReadYourWritesFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5), 1000, nanos::get);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writerReadsFromPrimaryWithinTheWindowOnly() throws Exception {
+        authenticate(1L);
+        // Marqué avant l'écriture : la chaîne voit déjà le primaire
+        assertThat(send("POST", "10.0.0.1", 201)).isEqualTo(ReadRouting.PRIMARY);
+
+        advanceSeconds(4);
+        assertThat(send("GET", "10.0.0.1", 200)).isEqualTo(ReadRouting.PRIMARY);
+
+        advanceSeconds(2);
+        assertThat(send("GET", "10.0.0.1", 200)).isNull();
+        assertThat(filter.target()).isNull(); // rien ne reste sur le thread après la requête
+    }
+
+    @Test
+    void userStaysOnPrimaryFromAnotherAddress() throws Exception {
+        authenticate(1L);
+        send("PUT", "10.0.0.1", 200);
+
+        assertThat(send("GET", "10.0.0.2", 200)).isEqualTo(ReadRouting.PRIMARY);
+
+        authenticate(2L);
+        assertThat(send("GET", "10.0.0.3", 200)).isNull();
+    }
+
+    @Test
+    void failedWriteDoesNotMarkTheClient() throws Exception {
+        authenticate(1L);
+        // Pendant l'écriture, ses propres lectures vont au primaire même si elle échoue ensuite
+        assertThat(send("POST", "10.0.0.1", 409)).isEqualTo(ReadRouting.PRIMARY);
+        assertThat(send("GET", "10.0.0.1", 200)).isNull();
+
+        assertThatThrownBy(() -> filter.doFilter(request("DELETE", "10.0.0.1"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class);
+        assertThat(send("GET", "10.0.0.1", 200)).isNull();
+    }
+
+    @Test
+    void failedWriteKeepsTheWindowOfAnEarlierWrite() throws Exception {
+        authenticate(1L);
+        send("POST", "10.0.0.1", 201);
+        advanceSeconds(1);
+        send("POST", "10.0.0.1", 400);
+
+        assertThat(send("GET", "10.0.0.1", 200)).isEqualTo(ReadRouting.PRIMARY);
+        advanceSeconds(5);
+        assertThat(send("GET", "10.0.0.1", 200)).isNull();
+    }
+
+    @Test
+    void readTargetPinnedDuringARequestIsKeptUntilItEnds() throws Exception {
+        List<String> targets = new ArrayList<>();
+        filter.doFilter(request("GET", "10.0.0.1"), new MockHttpServletResponse(), (req, res) -> {
+            targets.add(filter.target());
+            filter.pin("replica-1");
+            targets.add(filter.target());
+        });
+        assertThat(targets).containsExactly(null, "replica-1");
+        assertThat(filter.target()).isNull();
+
+        // Hors requête, pin est sans effet
+        filter.pin("replica-0");
+        assertThat(filter.target()).isNull();
+    }
+
+    // --- Private Methods ---
+
+    // Renvoie la cible de lecture vue par la chaîne
+    private String send(String method, String remoteAddr, int status) throws Exception {
+        String[] seen = new String[1];
+        filter.doFilter(request(method, remoteAddr), new MockHttpServletResponse(), (req, res) -> {
+            seen[0] = filter.target();
+            ((MockHttpServletResponse) res).setStatus(status);
+        });
+        return seen[0];
+    }
+
+    private MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/projects");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", null, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()));
+    }
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,159 @@
+package com.elarbiallam.task_tracker_backend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routage primaire / réplicas sur deux instances PostgreSQL indépendantes, distinguées par le nom de leur base.
+ * Deux pools « réplicas » pointent sur la seconde instance, distingués par leur application_name.
+ * Même assemblage que ReadReplicaConfig : LazyConnectionDataSourceProxy + ReplicaRoutingDataSource.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+
+    @Container
+    static PostgreSQLContainer<?> primaryDb = new PostgreSQLContainer<>("postgres:15-alpine").withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer<?> replicaDb = new PostgreSQLContainer<>("postgres:15-alpine").withDatabaseName("replica_db");
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final TestReadRouting readRouting = new TestReadRouting();
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = pool(primaryDb.getJdbcUrl(), primaryDb);
+        HikariDataSource replicaA = pool(replicaDb.getJdbcUrl() + "&ApplicationName=replica-a", replicaDb);
+        HikariDataSource replicaB = pool(replicaDb.getJdbcUrl() + "&ApplicationName=replica-b", replicaDb);
+        // Réplica injoignable : retiré de la rotation par la vérification de retard
+        HikariDataSource down = pool("jdbc:postgresql://localhost:1/replica_db", replicaDb);
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB, down), readRouting);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToHealthyReplicas() {
+        routing.checkReplicas(5000);
+        assertThat(routing.availableReplicas()).containsExactly("replica-0", "replica-1");
+
+        // Hors requête : chaque transaction prend le réplica suivant
+        Set<String> replicas = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            String database = readOnlyTransaction.execute(status -> currentDatabase());
+            assertThat(database).isEqualTo("replica_db");
+            replicas.add(readOnlyTransaction.execute(status -> applicationName()));
+        }
+        assertThat(replicas).containsExactlyInAnyOrder("replica-a", "replica-b");
+        String writeDatabase = writeTransaction.execute(status -> currentDatabase());
+        assertThat(writeDatabase).isEqualTo("primary_db");
+    }
+
+    // ETag puis corps : deux transactions read-only d'une même requête lisent sur le même réplica
+    @Test
+    void readsOfOneRequestStayOnTheSameReplica() {
+        routing.checkReplicas(5000);
+        for (int request = 0; request < 3; request++) {
+            readRouting.startRequest(null);
+            String first = readOnlyTransaction.execute(status -> applicationName());
+            for (int i = 0; i < 3; i++) {
+                String next = readOnlyTransaction.execute(status -> applicationName());
+                assertThat(next).isEqualTo(first);
+            }
+            readRouting.endRequest();
+        }
+    }
+
+    @Test
+    void stickyRequestsAndMissingReplicasReadFromPrimary() {
+        routing.checkReplicas(5000);
+        readRouting.startRequest(ReadRouting.PRIMARY);
+        String stickyDatabase = readOnlyTransaction.execute(status -> currentDatabase());
+        assertThat(stickyDatabase).isEqualTo("primary_db");
+        readRouting.endRequest();
+
+        // Seuil de retard impossible à respecter : plus aucun réplica en rotation
+        routing.checkReplicas(-1);
+        assertThat(routing.availableReplicas()).isEmpty();
+        String fallbackDatabase = readOnlyTransaction.execute(status -> currentDatabase());
+        assertThat(fallbackDatabase).isEqualTo("primary_db");
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private String applicationName() {
+        return jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class);
+    }
+
+    private HikariDataSource pool(String url, PostgreSQLContainer<?> credentials) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(credentials.getUsername());
+        pool.setPassword(credentials.getPassword());
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(500);
+        pool.setInitializationFailTimeout(-1);
+        pools.add(pool);
+        return pool;
+    }
+
+    // Équivalent de ReadYourWritesFilter pour une requête simulée
+    private static final class TestReadRouting implements ReadRouting {
+
+        private String[] current;
+
+        void startRequest(String target) {
+            current = new String[]{target};
+        }
+
+        void endRequest() {
+            current = null;
+        }
+
+        @Override
+        public String target() {
+            return current != null ? current[0] : null;
+        }
+
+        @Override
+        public void pin(String target) {
+            if (current != null) {
+                current[0] = target;
+            }
+        }
+    }
+}
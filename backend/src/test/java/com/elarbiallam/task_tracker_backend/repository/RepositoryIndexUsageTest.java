@@ -0,0 +1,298 @@
+package com.elarbiallam.task_tracker_backend.repository;
+
+import com.elarbiallam.task_tracker_backend.dto.common.CursorPage;
+import com.elarbiallam.task_tracker_backend.dto.project.ProjectDTO;
+import com.elarbiallam.task_tracker_backend.enums.TaskStatus;
+import com.elarbiallam.task_tracker_backend.service.DashboardService;
+import com.elarbiallam.task_tracker_backend.service.ProjectService;
+import com.elarbiallam.task_tracker_backend.service.SearchService;
+import com.elarbiallam.task_tracker_backend.service.TaskService;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie via EXPLAIN que chaque chemin d'accès utilise l'index attendu, désigné par son nom exact.
+ * Le SQL n'est pas réécrit à la main : il est capturé (datasource-proxy) lors des vrais appels aux services
+ * et repositories, puis rejoué avec ses paramètres sous EXPLAIN.
+ * Données de volume suffisant (ANALYZE) pour que les index sélectifs gagnent, et seq scan désactivé :
+ * un plan sans index échoue au lieu de passer inaperçu.
+ */
+@SpringBootTest(properties = "application.rate-limit.enabled=false")
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    // "Index Scan using x", "Index Only Scan Backward using x", "Bitmap Index Scan on x"
+    private static final Pattern INDEX_USE = Pattern.compile("Index (?:Only )?Scan(?: Backward)? using (\\w+)|Bitmap Index Scan on (\\w+)");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SqlCapture capture = new SqlCapture();
+    private long userId;
+    private long projectId;
+
+    @BeforeAll
+    void seed() {
+        assertThat(dataSource).isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+
+        userId = insertUser("index@test.com");
+        long otherUserId = insertUser("other@test.com");
+        insertProjects(userId, 50);
+        insertProjects(otherUserId, 100);
+        projectId = jdbcTemplate.queryForObject(
+                "INSERT INTO projects (title, description, created_at, user_id) "
+                        + "VALUES ('Quarterly report', 'Main project', now(), ?) RETURNING id", Long.class, userId);
+
+        // 20 tâches par projet, 2000 dans le projet étudié (1 sur 10 sans échéance), quelques-unes sur « report »
+        // Ids pris dans tasks_seq, comme Hibernate
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, due_date, status, project_id) "
+                + "SELECT nextval('tasks_seq'), 'Task ' || g, 'Description ' || g, DATE '2026-01-01' + g, "
+                + "(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'])[g % 3 + 1], p.id "
+                + "FROM projects p CROSS JOIN generate_series(1, 20) g WHERE p.id <> ?", projectId);
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, due_date, status, project_id) "
+                + "SELECT nextval('tasks_seq'), CASE WHEN g % 500 = 0 THEN 'Write report ' ELSE 'Task ' END || g, "
+                + "'Description ' || g, CASE WHEN g % 10 = 0 THEN NULL ELSE DATE '2026-01-01' + g % 365 END, "
+                + "(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'])[g % 3 + 1], ? "
+                + "FROM generate_series(1, 2000) g", projectId);
+        jdbcTemplate.update("INSERT INTO task_rollups (project_id, status, due_date, task_count) "
+                + "SELECT project_id, status, due_date, COUNT(*) FROM tasks GROUP BY project_id, status, due_date");
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    void offsetPagesOfTasksUseTheIndexOfTheirSort() {
+        List<CapturedQuery> queries = capture.during(() -> taskService.getTasksByProjectId(projectId, null, 3, 10, userId, "false"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_due_date");
+        // COUNT(*) : tout index commençant par project_id convient, le planner prend le plus petit
+        String countPlan = explain(query(queries, "from tasks", "count("));
+        assertThat(indexes(countPlan)).as(countPlan).containsAnyOf(
+                "idx_tasks_project_due_date", "idx_tasks_project_status_due_date", "idx_tasks_project_title");
+        assertThat(countPlan).doesNotContain("Seq Scan");
+
+        queries = capture.during(() -> taskService.getTasksByProjectId(projectId, TaskStatus.PENDING, 3, 10, userId, "false"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_status_due_date");
+
+        queries = capture.during(() -> taskService.getTasksByProjectId(projectId, null, 3, 10, userId, "sort"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_title");
+    }
+
+    @Test
+    void cursorPagesOfTasksUseTheIndexOfTheirSort() {
+        String dueDateCursor = taskService.getTasksByProjectIdAfter(projectId, null, "", 10, userId, "false").getNextCursor();
+        List<CapturedQuery> queries = capture.during(
+                () -> taskService.getTasksByProjectIdAfter(projectId, null, dueDateCursor, 10, userId, "false"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_due_date");
+
+        // Fin de liste : curseur positionné sur une tâche sans échéance
+        Long undatedTaskId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM tasks WHERE project_id = ? AND due_date IS NULL", Long.class, projectId);
+        String undatedCursor = CursorPage.encodeCursor("d|" + undatedTaskId + "|");
+        queries = capture.during(() -> taskService.getTasksByProjectIdAfter(projectId, null, undatedCursor, 10, userId, "false"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_due_date");
+
+        String statusCursor = taskService.getTasksByProjectIdAfter(projectId, TaskStatus.PENDING, "", 10, userId, "false").getNextCursor();
+        queries = capture.during(
+                () -> taskService.getTasksByProjectIdAfter(projectId, TaskStatus.PENDING, statusCursor, 10, userId, "false"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_status_due_date");
+
+        String titleCursor = taskService.getTasksByProjectIdAfter(projectId, null, "", 10, userId, "sort").getNextCursor();
+        queries = capture.during(() -> taskService.getTasksByProjectIdAfter(projectId, null, titleCursor, 10, userId, "sort"));
+        assertUsesIndex(query(queries, "from tasks", "order by"), "idx_tasks_project_title");
+    }
+
+    @Test
+    void exportStreamsInIndexOrder() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<CapturedQuery> queries = capture.during(() -> transaction.executeWithoutResult(status -> {
+            try (var tasks = taskRepository.streamByProjectId(projectId)) {
+                tasks.findFirst();
+            }
+            try (var tasks = taskRepository.streamByProjectIdAndStatus(projectId, TaskStatus.PENDING)) {
+                tasks.findFirst();
+            }
+        }));
+        List<CapturedQuery> streams = queries.stream().filter(query -> query.sql().toLowerCase().contains("from tasks")).toList();
+        assertThat(streams).hasSize(2);
+        assertUsesIndex(streams.get(0), "idx_tasks_project_due_date");
+        assertUsesIndex(streams.get(1), "idx_tasks_project_status_due_date");
+    }
+
+    @Test
+    void projectPagesUseTheUserIndex() {
+        List<CapturedQuery> queries = capture.during(() -> projectService.getUserProjects(userId, 1, 10));
+        assertUsesIndex(query(queries, "from projects", "order by"), "idx_projects_user_id");
+        assertUsesIndex(query(queries, "from projects", "count("), "idx_projects_user_id");
+
+        String cursor = projectService.getUserProjectsAfter(userId, "", 10).getNextCursor();
+        queries = capture.during(() -> {
+            CursorPage<ProjectDTO> page = projectService.getUserProjectsAfter(userId, cursor, 10);
+            assertThat(page.getContent()).hasSize(10);
+        });
+        assertUsesIndex(query(queries, "from projects", "order by"), "idx_projects_user_id");
+    }
+
+    @Test
+    void searchUsesBothFullTextIndexes() {
+        List<CapturedQuery> queries = capture.during(() -> searchService.search(userId, "report", "", 20));
+        assertUsesIndex(query(queries, "websearch_to_tsquery"), "idx_tasks_search_vector", "idx_projects_search_vector");
+    }
+
+    @Test
+    void dashboardReadsRollupsThroughTheirUniqueIndex() {
+        List<CapturedQuery> queries = capture.during(() -> dashboardService.getSummary(userId));
+        assertUsesIndex(query(queries, "from task_rollups"), "uq_task_rollups");
+    }
+
+    @Test
+    void userLookupUsesTheEmailConstraint() {
+        List<CapturedQuery> queries = capture.during(() -> userRepository.findByEmail("index@test.com"));
+        assertUsesIndex(query(queries, "from users"), "users_email_key");
+    }
+
+    // --- Private Methods ---
+
+    private long insertUser(String email) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password) VALUES (?, 'unused') RETURNING id", Long.class, email);
+    }
+
+    private void insertProjects(long ownerId, int count) {
+        jdbcTemplate.update("INSERT INTO projects (title, description, created_at, user_id) "
+                + "SELECT 'Project ' || g, 'Description ' || g, now(), ? FROM generate_series(1, ?) g", ownerId, count);
+    }
+
+    // Requête capturée contenant tous les fragments (SQL Hibernate en minuscules)
+    private CapturedQuery query(List<CapturedQuery> queries, String... fragments) {
+        return queries.stream()
+                .filter(query -> List.of(fragments).stream().allMatch(query.sql().toLowerCase()::contains))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No captured query contains " + List.of(fragments) + " in " + queries));
+    }
+
+    private void assertUsesIndex(CapturedQuery query, String... expectedIndexes) {
+        String plan = explain(query);
+        assertThat(indexes(plan)).as(query.sql() + "\n" + plan).contains(expectedIndexes);
+        assertThat(plan).as(query.sql()).doesNotContain("Seq Scan");
+    }
+
+    private Set<String> indexes(String plan) {
+        Set<String> indexes = new TreeSet<>();
+        Matcher matcher = INDEX_USE.matcher(plan);
+        while (matcher.find()) {
+            indexes.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        return indexes;
+    }
+
+    // Rejoue la requête et ses paramètres sous EXPLAIN ; SET LOCAL limité à cette transaction
+    private String explain(CapturedQuery query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> plan = jdbcTemplate.query("EXPLAIN " + query.sql(), statement -> {
+                for (ParameterSetOperation parameter : query.parameters()) {
+                    try {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    } catch (IllegalAccessException | InvocationTargetException ex) {
+                        throw new SQLException("Cannot replay parameter " + parameter.getMethod().getName(), ex);
+                    }
+                }
+            }, (rs, rowNum) -> rs.getString(1));
+            return String.join("\n", plan);
+        });
+    }
+
+    private record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    // Listener ajouté à la chaîne du ProxyDataSource : n'enregistre que pendant during()
+    private static final class SqlCapture implements QueryExecutionListener {
+
+        private final List<CapturedQuery> queries = new ArrayList<>();
+        private volatile boolean recording;
+
+        synchronized List<CapturedQuery> during(Runnable call) {
+            queries.clear();
+            recording = true;
+            try {
+                call.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(queries);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!recording) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of() : List.copyOf(queryInfo.getParametersList().get(0));
+                queries.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+}
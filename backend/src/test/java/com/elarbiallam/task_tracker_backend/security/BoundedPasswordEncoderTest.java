@@ -0,0 +1,130 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import com.elarbiallam.task_tracker_backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Un seul thread de hachage et une file d'une place ; le hachage simulé reste bloqué jusqu'à release.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingEncoder delegate = new BlockingEncoder();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void release() {
+        delegate.release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 10_000, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        awaitGauge("security.password.hash.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitGauge("security.password.hash.queue", 1);
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("third", "hash:third"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(1000);
+        assertThat(rejected()).isEqualTo(1);
+
+        // Les hachages acceptés aboutissent une fois le thread libéré
+        delegate.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenTheWaitTimesOutAndDropsTheQueuedHash() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 200, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        awaitGauge("security.password.hash.active", 1);
+
+        assertThatThrownBy(() -> encoder.encode("second")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("security.password.hash.queue").gauge().value()).isZero();
+        assertThatThrownBy(() -> running.join()).hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThat(rejected()).isEqualTo(2);
+
+        // Client déjà rejeté : son hachage, retiré de la file, n'est jamais exécuté
+        delegate.release.countDown();
+        Thread.sleep(200);
+        assertThat(delegate.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void propagatesDelegateErrors() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder() {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new IllegalArgumentException("Encoded password does not look like BCrypt");
+            }
+        }, 1, 1, 1000, meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "plain"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("BCrypt");
+        assertThat(rejected()).isZero();
+    }
+
+    // --- Private Methods ---
+
+    private double rejected() {
+        return meterRegistry.get("security.password.hash.rejected").counter().count();
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected) {
+            assertThat(System.nanoTime()).as(name).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    // Hachage simulé : bloque jusqu'à release, même si le thread est interrompu (BCrypt ne s'interrompt pas)
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
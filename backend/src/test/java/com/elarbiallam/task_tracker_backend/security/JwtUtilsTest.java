@@ -0,0 +1,36 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final AuthenticatedUser user = new AuthenticatedUser(42L, "user@example.com", "hash", 3);
+
+    // Stateless : version jamais vérifiée, donc non émise ; le principal ne dépend que de l'id
+    @Test
+    void statelessTokensCarryNoVersion() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, true);
+        Claims claims = jwtUtils.parseToken(jwtUtils.generateToken(user));
+
+        assertThat(claims.get(JwtUtils.CLAIM_TOKEN_VERSION)).isNull();
+        AuthenticatedUser principal = jwtUtils.toPrincipal(claims);
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void storedUserModeRejectsTokensOfAnOlderVersion() {
+        JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000, false);
+        Claims claims = jwtUtils.parseToken(jwtUtils.generateToken(user));
+
+        assertThat(claims.get(JwtUtils.CLAIM_TOKEN_VERSION, Number.class).intValue()).isEqualTo(3);
+        assertThat(jwtUtils.isTokenValid(claims, user)).isTrue();
+        AuthenticatedUser revoked = new AuthenticatedUser(42L, "user@example.com", "hash", 4);
+        assertThat(jwtUtils.isTokenValid(claims, revoked)).isFalse();
+    }
+}
@@ -0,0 +1,108 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Choix de la clé du seau : utilisateur du JWT, sinon adresse IP. Un seul jeton par seau (sans recharge
+ * pendant le test) : la deuxième requête d'une même clé est rejetée, celle d'une autre clé passe.
+ */
+class RateLimitFilterTest {
+
+    private final JwtAuthenticationFilter jwtAuthFilter = mock(JwtAuthenticationFilter.class);
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void createFilter() {
+        filter = new RateLimitFilter(jwtAuthFilter, new ObjectMapper(), new SimpleMeterRegistry(),
+                1000, 600_000, 1, 0.001, 1, 0.001, 1, 0.001);
+    }
+
+    @Test
+    void authenticatedRequestsAreLimitedPerUser() throws Exception {
+        when(jwtAuthFilter.resolveClaims(any())).thenAnswer(invocation -> claimsOf(invocation.getArgument(0)));
+
+        assertThat(send("/api/projects", "10.0.0.1", "user-1").getStatus()).isEqualTo(200);
+        // Même IP, autre utilisateur : seau distinct
+        assertThat(send("/api/projects", "10.0.0.1", "user-2").getStatus()).isEqualTo(200);
+
+        // Même utilisateur depuis une autre IP : même seau, déjà vide
+        MockHttpServletResponse rejected = send("/api/projects", "10.0.0.2", "user-1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotBlank();
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+
+        // Groupes de routes indépendants pour un même utilisateur
+        assertThat(send("/api/tasks/1", "10.0.0.1", "user-1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void requestsWithoutValidTokenAreLimitedPerIp() throws Exception {
+        when(jwtAuthFilter.resolveClaims(any())).thenAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            if (request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+                throw new MalformedJwtException("invalid token");
+            }
+            return null;
+        });
+
+        assertThat(send("/api/projects", "10.0.0.1", "forged").getStatus()).isEqualTo(200);
+        // Token invalide puis absence de token : même clé IP
+        assertThat(send("/api/projects", "10.0.0.1", null).getStatus()).isEqualTo(429);
+        assertThat(send("/api/projects", "10.0.0.2", "forged").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void authRoutesAreLimitedPerIpWithoutReadingTheToken() throws Exception {
+        assertThat(send("/api/auth/login", "10.0.0.1", "user-1").getStatus()).isEqualTo(200);
+        assertThat(send("/api/auth/login", "10.0.0.1", "user-2").getStatus()).isEqualTo(429);
+        assertThat(send("/api/auth/login", "10.0.0.2", null).getStatus()).isEqualTo(200);
+        verify(jwtAuthFilter, never()).resolveClaims(any());
+    }
+
+    @Test
+    void requestsOutsideTheApiAreNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(send("/actuator/health", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        }
+    }
+
+    // --- Private Methods ---
+
+    private MockHttpServletResponse send(String uri, String remoteAddr, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddr);
+        if (token != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    // Token "user-<id>" : claims portant l'id utilisateur, comme JwtUtils
+    private static Claims claimsOf(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null) {
+            return null;
+        }
+        long userId = Long.parseLong(header.substring("Bearer user-".length()));
+        return Jwts.claims(Map.of(JwtUtils.CLAIM_USER_ID, userId));
+    }
+}
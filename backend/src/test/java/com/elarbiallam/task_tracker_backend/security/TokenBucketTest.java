@@ -0,0 +1,92 @@
+package com.elarbiallam.task_tracker_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Horloge passée explicitement (ns) : rafale, recharge et attente calculées sans dépendre du temps réel.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstOfCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        assertThat(bucket.tryConsume(0)).isPositive();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0); // un jeton toutes les 500 ms
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+        assertThat(bucket.tryConsume(SECOND / 4)).isPositive();
+
+        assertThat(bucket.tryConsume(SECOND / 2)).isZero();
+        assertThat(bucket.tryConsume(SECOND / 2)).isPositive();
+
+        // Seau plein après une longue inactivité, mais jamais au-delà de sa capacité
+        assertThat(bucket.tryConsume(60 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(60 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(60 * SECOND)).isPositive();
+    }
+
+    @Test
+    void returnsTheWaitUntilTheNextToken() {
+        TokenBucket bucket = new TokenBucket(2, 0.2, 0); // un jeton toutes les 5 s
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(0)).isEqualTo(5 * SECOND);
+        assertThat(bucket.tryConsume(2 * SECOND)).isEqualTo(3 * SECOND);
+        // Un refus ne consomme rien : le jeton arrive bien à 5 s
+        assertThat(bucket.tryConsume(5 * SECOND)).isZero();
+    }
+
+    @Test
+    void concurrentConsumersNeverExceedCapacity() throws Exception {
+        int capacity = 100;
+        TokenBucket bucket = new TokenBucket(capacity, 0.001, 0); // aucune recharge pendant le test
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int granted = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                }));
+            }
+            start.countDown();
+
+            int granted = 0;
+            for (Future<Integer> result : results) {
+                granted += result.get(10, TimeUnit.SECONDS);
+            }
+            assertThat(granted).isEqualTo(capacity);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.elarbiallam.task_tracker_backend.service.impl;
+
+import com.elarbiallam.task_tracker_backend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportRowReaderTest {
+
+    @Test
+    void quotedCsvFieldsKeepCommasQuotesAndNewlines() throws IOException {
+        ImportRowReader reader = reader("title,description\n"
+                + "\"a, b\",\"say \"\"hi\"\"\"\n"
+                + "\"two\nlines\",plain\n", 100);
+
+        assertThat(reader.readCsvRecord()).containsExactly("title", "description");
+        assertThat(reader.readCsvRecord()).containsExactly("a, b", "say \"hi\"");
+        assertThat(reader.readCsvRecord()).containsExactly("two\nlines", "plain");
+        assertThat(reader.readCsvRecord()).isNull();
+    }
+
+    @Test
+    void crlfLineEndingsAreStripped() throws IOException {
+        ImportRowReader csv = reader("title,status\r\nOne,PENDING\r\n\"Quoted\r\nkept\",DONE\r\n", 100);
+        assertThat(csv.readCsvRecord()).containsExactly("title", "status");
+        assertThat(csv.readCsvRecord()).containsExactly("One", "PENDING");
+        // \r\n à l'intérieur des guillemets fait partie du champ
+        assertThat(csv.readCsvRecord()).containsExactly("Quoted\r\nkept", "DONE");
+        assertThat(csv.readCsvRecord()).isNull();
+
+        ImportRowReader ndjson = reader("{\"title\":\"a\"}\r\n{\"title\":\"b\"}", 100);
+        assertThat(ndjson.readLine()).isEqualTo("{\"title\":\"a\"}");
+        assertThat(ndjson.readLine()).isEqualTo("{\"title\":\"b\"}"); // dernière ligne sans saut de ligne
+        assertThat(ndjson.readLine()).isNull();
+    }
+
+    @Test
+    void blankLinesAreReturnedEmpty() throws IOException {
+        ImportRowReader csv = reader("a\n\n\r\nb\n", 100);
+        assertThat(records(csv)).containsExactly(List.of("a"), List.of(""), List.of(""), List.of("b"));
+
+        ImportRowReader ndjson = reader("x\n\n   \ny", 100);
+        assertThat(ndjson.readLine()).isEqualTo("x");
+        assertThat(ndjson.readLine()).isEmpty();
+        assertThat(ndjson.readLine()).isBlank();
+        assertThat(ndjson.readLine()).isEqualTo("y");
+        assertThat(ndjson.readLine()).isNull();
+    }
+
+    @Test
+    void emptyFieldsAndTrailingComma() throws IOException {
+        assertThat(reader(",x,\n", 100).readCsvRecord()).containsExactly("", "x", "");
+        assertThat(reader("\"\",\"\"\n", 100).readCsvRecord()).containsExactly("", "");
+    }
+
+    @Test
+    void rowLongerThanTheLimitIsRejected() throws IOException {
+        ImportRowReader ndjson = reader("12345\n123456\n", 5);
+        assertThat(ndjson.readLine()).isEqualTo("12345");
+        assertThatThrownBy(ndjson::readLine)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Row is longer than 5 characters");
+
+        // Limite par enregistrement, sauts de ligne des champs entre guillemets compris
+        ImportRowReader csv = reader("ab,cd\n\"ab\ncd\"\n", 4);
+        assertThat(csv.readCsvRecord()).containsExactly("ab", "cd");
+        assertThatThrownBy(csv::readCsvRecord).isInstanceOf(BadRequestException.class);
+    }
+
+    private ImportRowReader reader(String content, int maxRowLength) {
+        return new ImportRowReader(new StringReader(content), maxRowLength);
+    }
+
+    private List<List<String>> records(ImportRowReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.readCsvRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
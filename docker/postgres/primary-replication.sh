@@ -0,0 +1,4 @@
+#!/bin/sh
+# Exécuté à l'initialisation du primaire (volume vide) : autorise les connexions de réplication (pg_basebackup, streaming)
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Réplica en streaming : copie initiale du primaire (pg_basebackup -R écrit standby.signal et primary_conninfo),
+# puis démarrage en hot standby (lectures seules)
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h db -U "$POSTGRES_USER" -D "$PGDATA" -R -X stream; do
+    echo "Waiting for primary..."
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres
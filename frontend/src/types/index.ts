@@ -75,33 +75,12 @@ export interface UpdateTaskRequest {
 }
 
 // Pagination Types
-export interface Sort {
-  empty: boolean;
-  sorted: boolean;
-  unsorted: boolean;
-}
-
-export interface Pageable {
-  pageNumber: number;
-  pageSize: number;
-  sort: Sort;
-  offset: number;
-  paged: boolean;
-  unpaged: boolean;
-}
-
 export interface Page<T> {
   content: T[];
-  pageable: Pageable;
-  last: boolean;
-  totalPages: number;
-  totalElements: number;
-  size: number;
   number: number;
-  sort: Sort;
-  numberOfElements: number;
-  first: boolean;
-  empty: boolean;
+  size: number;
+  totalElements: number;
+  totalPages: number;
 }
 
 // Error Types